@@ -0,0 +1,37 @@
+package com.example.project.Controller;
+
+import com.example.project.Model.JenkinsJobBuild;
+import com.example.project.Service.JenkinsFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//The builtOn join of the time-range picker: builds of one job filtered on their builtOn and turned into rows.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuiltOnJoinBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    int size;
+
+    @Param({"", "Madrid"})
+    String builtOn;
+
+    private List<JenkinsJobBuild> builds;
+
+    @Setup
+    public void setUp() {
+        builds = JenkinsFixtures.builds("deploy", size);
+    }
+
+    @Benchmark
+    public List<Map<String, String>> toBuiltOnRows() {
+        return FinalController.toBuiltOnRows(builds, builtOn);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.project.Model;
+
+import com.example.project.Service.JenkinsFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Derived end time over a batch of builds: the LocalDateTime view the API returns against the epoch-millis value used internally.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JenkinsJobBuildBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    int size;
+
+    private List<JenkinsJobBuild> builds;
+
+    @Setup
+    public void setUp() {
+        builds = JenkinsFixtures.builds("deploy", size);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    @Benchmark
+    public void calculateTheEndTime(Blackhole blackhole) {
+        for (JenkinsJobBuild jobBuild : builds) {
+            blackhole.consume(jobBuild.CalculateTheEndTime());
+        }
+    }
+
+    @Benchmark
+    public void endMillis(Blackhole blackhole) {
+        for (JenkinsJobBuild jobBuild : builds) {
+            blackhole.consume(jobBuild.getEndMillis());
+        }
+    }
+}
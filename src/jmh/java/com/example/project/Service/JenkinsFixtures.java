@@ -0,0 +1,72 @@
+package com.example.project.Service;
+
+import com.example.project.Model.JenkinsJobBuild;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+//Jenkins JSON documents shaped like recorded api/json responses (same fields, nesting and noise),
+//generated at any size from a fixed seed so every run measures the same bytes.
+public final class JenkinsFixtures {
+
+    public static final long ORIGIN = 1_685_577_600_000L; // 2023-06-01T00:00Z
+    public static final long BUILD_SPACING = 600_000;     // one build every 10 minutes
+    public static final String[] NODES = {"", "Madrid", "Paris", "Berlin"};
+
+    private static final String[] RESULTS = {"SUCCESS", "SUCCESS", "SUCCESS", "FAILURE", "UNSTABLE", "ABORTED"};
+
+    private JenkinsFixtures() {
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //api/json?tree=jobs[name] with the _class/url/color noise the unprojected document carries
+    public static byte[] jobList(int jobs) {
+        StringBuilder json = new StringBuilder("{\"_class\":\"hudson.model.Hudson\",\"assignedLabels\":[{\"name\":\"built-in\"}],\"mode\":\"NORMAL\",\"jobs\":[");
+        for (int i = 0; i < jobs; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"_class\":\"hudson.model.FreeStyleProject\",\"name\":\"").append(jobName(i))
+                    .append("\",\"url\":\"http://localhost:8080/job/").append(jobName(i)).append("/\",\"color\":\"blue\"}");
+        }
+        return json.append("],\"numExecutors\":2,\"useSecurity\":true}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    //job/<name>/api/json?depth=2, newest build first as Jenkins returns them
+    public static byte[] jobDocument(String jobName, int builds) {
+        Random random = new Random(builds);
+        StringBuilder json = new StringBuilder("{\"_class\":\"hudson.model.FreeStyleProject\",\"actions\":[{},{\"_class\":\"hudson.plugins.jobConfigHistory.JobConfigHistoryProjectAction\"}],")
+                .append("\"displayName\":\"").append(jobName).append("\",\"name\":\"").append(jobName).append("\",\"builds\":[");
+        for (int number = builds; number >= 1; number--) {
+            if (number < builds) {
+                json.append(',');
+            }
+            json.append("{\"_class\":\"hudson.model.FreeStyleBuild\",\"actions\":[{\"_class\":\"hudson.model.CauseAction\",\"causes\":[{\"_class\":\"hudson.model.Cause$UserIdCause\",\"shortDescription\":\"Started by user admin\",\"userId\":\"admin\"}]},")
+                    .append("{\"_class\":\"jenkins.metrics.impl.TimeInQueueAction\",\"blockedDurationMillis\":0,\"queuingDurationMillis\":").append(random.nextInt(5_000)).append("},{}],")
+                    .append("\"building\":false,\"builtOn\":\"").append(NODES[number % NODES.length]).append("\",")
+                    .append("\"changeSet\":{\"_class\":\"hudson.scm.EmptyChangeLogSet\",\"items\":[],\"kind\":null},")
+                    .append("\"duration\":").append(30_000 + random.nextInt(900_000)).append(',')
+                    .append("\"fullDisplayName\":\"").append(jobName).append(" #").append(number).append("\",")
+                    .append("\"number\":").append(number).append(",\"result\":\"").append(RESULTS[random.nextInt(RESULTS.length)]).append("\",")
+                    .append("\"timestamp\":").append(ORIGIN + (number - 1) * BUILD_SPACING).append('}');
+        }
+        return json.append("],\"lastBuild\":{\"number\":").append(builds).append("}}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    public static List<JenkinsJobBuild> builds(String jobName, int builds) {
+        Random random = new Random(builds);
+        List<JenkinsJobBuild> result = new ArrayList<>(builds);
+        for (int number = builds; number >= 1; number--) {
+            result.add(JenkinsResponseParser.toJobBuild(jobName, number, ORIGIN + (number - 1) * BUILD_SPACING,
+                    30_000 + random.nextInt(900_000), random.nextInt(5_000), RESULTS[random.nextInt(RESULTS.length)], NODES[number % NODES.length]));
+        }
+        return result;
+    }
+
+    public static String jobName(int i) {
+        return String.format("job-%05d", i);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.project.Service;
+
+import com.example.project.Model.JenkinsJobBuild;
+import com.example.project.Model.TimeRangeMatch;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//getAllJobNames and getJobBuildsByTimeRange minus the HTTP round-trip: the streaming parse (and window filter)
+//of the response body. Run with -prof gc for the allocation rate per operation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JenkinsResponseParserBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    int size;
+
+    private byte[] jobList;
+    private byte[] jobDocument;
+    private long from;
+    private long to;
+
+    @Setup
+    public void setUp() {
+        jobList = JenkinsFixtures.jobList(size);
+        jobDocument = JenkinsFixtures.jobDocument("deploy", size);
+        // A window over the middle half of the history
+        long span = size * JenkinsFixtures.BUILD_SPACING;
+        from = JenkinsFixtures.ORIGIN + span / 4;
+        to = JenkinsFixtures.ORIGIN + 3 * span / 4;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    @Benchmark
+    public List<String> parseJobNames() throws IOException {
+        return JenkinsResponseParser.parseJobNames(new ByteArrayInputStream(jobList));
+    }
+
+    @Benchmark
+    public List<JenkinsJobBuild> buildsStartedInWindow() throws IOException {
+        return JenkinsResponseParser.parseBuildsInWindow(new ByteArrayInputStream(jobDocument), from, to, TimeRangeMatch.STARTED);
+    }
+
+    @Benchmark
+    public List<JenkinsJobBuild> buildsOverlappingWindow() throws IOException {
+        return JenkinsResponseParser.parseBuildsInWindow(new ByteArrayInputStream(jobDocument), from, to, TimeRangeMatch.OVERLAPPED);
+    }
+}
@@ -1,14 +1,40 @@
 package com.example.project.Controller;
+import com.example.project.HttpClientConfig.JenkinsUnavailableException;
 import com.example.project.Model.AuthHeaders;
 import com.example.project.Model.JenkinsJobBuild;
+import com.example.project.Model.JenkinsNode;
+import com.example.project.Model.TimeRangeMatch;
+import com.example.project.Service.BatchQueryService;
+import com.example.project.Service.BuildStatisticsService;
+import com.example.project.Service.ConsoleLogService;
+import com.example.project.Service.JenkinsFederation;
 import com.example.project.Service.JenkinsService;
+import com.example.project.Service.JobCatalog;
+import com.example.project.Service.LatestBuildPoller;
+import com.example.project.Service.NodeCatalog;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 @RestController
 
@@ -16,14 +42,33 @@ import java.util.*;
 
 public class FinalController {
 
+    private static final Logger log = LoggerFactory.getLogger(FinalController.class);
+
     private final JenkinsService jenkinsService;
+    private final LatestBuildPoller latestBuildPoller;
+    private final BuildStatisticsService buildStatisticsService;
+    private final JobCatalog jobCatalog;
+    private final NodeCatalog nodeCatalog;
+    private final JenkinsFederation jenkinsFederation;
+    private final ConsoleLogService consoleLogService;
+    private final BatchQueryService batchQueryService;
     private AuthHeaders authHeaders;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Autowired
-    public FinalController(JenkinsService jenkinsServ) {
+    public FinalController(JenkinsService jenkinsServ, LatestBuildPoller latestBuildPoller, BuildStatisticsService buildStatisticsService,
+                           JobCatalog jobCatalog, NodeCatalog nodeCatalog, JenkinsFederation jenkinsFederation,
+                           ConsoleLogService consoleLogService, BatchQueryService batchQueryService) {
         //System.out.println("start FinalController()");
 
         this.jenkinsService = jenkinsServ;
+        this.latestBuildPoller = latestBuildPoller;
+        this.buildStatisticsService = buildStatisticsService;
+        this.jobCatalog = jobCatalog;
+        this.nodeCatalog = nodeCatalog;
+        this.jenkinsFederation = jenkinsFederation;
+        this.consoleLogService = consoleLogService;
+        this.batchQueryService = batchQueryService;
         this.authHeaders = new AuthHeaders();
     }
 
@@ -60,6 +105,8 @@ public class FinalController {
             } else {
                 return ResponseEntity.ok().body(Collections.singletonMap("message", "No job build found."));
             }
+        } catch (JenkinsUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Collections.singletonMap("error", "Jenkins is not available right now, try again shortly."));
         } catch (JsonProcessingException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", "Error processing the Jenkins job build data."));
         } catch (Exception e) {
@@ -67,14 +114,45 @@ public class FinalController {
         }
     }
 
+    //////////////////////////////////////////////////////////////////
+    //push feed of the latest build: a "latest" event on connect, then a "build" event for every new or finished build
+    @GetMapping(path = "/last-job-build-events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getLastJobBuildEvents() {
+        if (authHeaders.getHeaders() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!latestBuildPoller.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(latestBuildPoller.subscribe());
+    }
+
     //////////////////////////////////////////////////////////////////
     @GetMapping("/nodeNames")
     public ResponseEntity<List<String>> getNodeNames() {
         try {
             HttpHeaders headers = authHeaders.getHeaders(); // Retrieve the authentication headers from the session-scoped bean
 
-            List<String> nodeNames = jenkinsService.getNodesNames(headers);
+            List<String> nodeNames = nodeCatalog.getNodeNames(headers);
             return ResponseEntity.ok(nodeNames);
+        } catch (JenkinsUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    //every node with its executor state (executors, busy executors, idle, offline) and the builtOn its builds record
+    @GetMapping("/nodes")
+    public ResponseEntity<List<JenkinsNode>> getNodes() {
+        try {
+            HttpHeaders headers = authHeaders.getHeaders();
+            if (headers == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+            return ResponseEntity.ok(nodeCatalog.getNodes(headers));
+        } catch (JenkinsUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -90,6 +168,13 @@ public class FinalController {
         return jenkinsService.getallJobInfo(headers);
     }
 
+    //////////////////////////////////////////////////////////////////
+    //hit/miss statistics of the shared Jenkins response cache
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Object> getCacheStats() {
+        return ResponseEntity.ok().body(jenkinsService.getCacheStatistics());
+    }
+
     //////////////////////////////////////////////////////////////////
     @PostMapping("/job-builds-by-time-range-picker")
     public ResponseEntity<Object> getJobBuildsByTimeRangePicker(@RequestBody Map<String, String> dateData) {
@@ -106,13 +191,15 @@ public class FinalController {
             }
 
 
-            // Get job names from the Jenkins server
-            List<String> jobNames = jenkinsService.getAllJobNames(headers);
+            // Get the job paths from the Jenkins server, jobs inside folders included
+            List<String> jobNames = jobCatalog.getJobPaths(headers);
 
 
             String startTime = dateData.get("startTime");
             String endTime = dateData.get("endTime");
             String selectedNode = dateData.get("selectedNode");
+            // "overlap" also returns builds that started before the window but were still running in it
+            TimeRangeMatch match = "overlap".equals(dateData.get("match")) ? TimeRangeMatch.OVERLAPPED : TimeRangeMatch.STARTED;
 
 
 
@@ -124,61 +211,399 @@ public class FinalController {
             LocalDateTime startTimeD = LocalDateTime.parse(startTime, formatter);
             LocalDateTime endTimeD = LocalDateTime.parse(endTime, formatter);
 
-            ResponseEntity<Object> AllJobInfoResponse = jenkinsService.getallJobInfo(headers);
-            Object AllJobInfoObject = AllJobInfoResponse.getBody();
+            String builtOnFilter = nodeCatalog.toBuiltOn(headers, selectedNode);
+
+            for (String jobName : jobNames) {
+                response.addAll(getJobBuildRows(headers, jobName, startTimeD, endTimeD, match, builtOnFilter));
+            }
+
+            if (!response.isEmpty()) {
+                return ResponseEntity.ok().body(response);
+            } else {
+                return ResponseEntity.ok().body(Collections.singletonMap("message", "No job builds found within the specified time range."));
+            }
+        } catch (JenkinsUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Collections.singletonMap("error", "Jenkins is not available right now, try again shortly."));
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", "Error processing the Jenkins job build data."));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", "An unexpected error occurred: " + e.getMessage()));
+        }
+    }
+    //////////////////////////////////////////////////////////////////
+    //several time-range queries in one request, e.g. the panels of a dashboard: a JSON array of
+    //{startTime, endTime, selectedNode (optional), match, jobPattern (optional regex on the job path)}.
+    //Jenkins is read once for the whole batch and the answer holds the rows of each query, in order
+    @PostMapping("/job-builds-by-time-range-picker/batch")
+    public ResponseEntity<Object> getJobBuildsByTimeRangeBatch(@RequestBody List<Map<String, String>> queriesData) {
+        try {
+            HttpHeaders headers = authHeaders.getHeaders();
+            if (headers == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.singletonMap("error", "Not authenticated."));
+            }
+            if (queriesData.isEmpty() || queriesData.size() > batchQueryService.getMaxQueries()) {
+                return ResponseEntity.badRequest().body(Collections.singletonMap("error", "A batch holds between 1 and " + batchQueryService.getMaxQueries() + " queries."));
+            }
+
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+            List<BatchQueryService.Query> queries = new ArrayList<>();
+            for (Map<String, String> queryData : queriesData) {
+                try {
+                    LocalDateTime startTimeD = LocalDateTime.parse(queryData.get("startTime"), formatter);
+                    LocalDateTime endTimeD = LocalDateTime.parse(queryData.get("endTime"), formatter);
+                    TimeRangeMatch match = "overlap".equals(queryData.get("match")) ? TimeRangeMatch.OVERLAPPED : TimeRangeMatch.STARTED;
+                    String jobPattern = queryData.get("jobPattern");
+                    queries.add(new BatchQueryService.Query(startTimeD, endTimeD, match, nodeCatalog.toBuiltOn(headers, queryData.get("selectedNode")),
+                            jobPattern == null || jobPattern.isEmpty() ? null : Pattern.compile(jobPattern)));
+                } catch (DateTimeParseException | NullPointerException | PatternSyntaxException e) {
+                    return ResponseEntity.badRequest().body(Collections.singletonMap("error", "Invalid query " + queryData + ": " + e.getMessage()));
+                }
+            }
+
+            BatchQueryService.Batch batch = batchQueryService.run(headers, queries);
+            List<List<Map<String, String>>> response = new ArrayList<>();
+            for (int i = 0; i < queries.size(); i++) {
+                response.add(toBuiltOnRows(batch.getBuildsPerQuery().get(i), queries.get(i).getBuiltOn()));
+            }
+            return ResponseEntity.ok().body(response);
+        } catch (JenkinsUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Collections.singletonMap("error", "Jenkins is not available right now, try again shortly."));
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", "Error processing the Jenkins job build data."));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", "An unexpected error occurred: " + e.getMessage()));
+        }
+    }
+
+    //////////////////////////////////////////////////////////////////
+    //rows of one job for the time-range endpoints: builds in the window that ran on the selected node
+    private List<Map<String, String>> getJobBuildRows(HttpHeaders headers, String jobName, LocalDateTime startTime, LocalDateTime endTime,
+                                                      TimeRangeMatch match, String builtOnFilter) throws Exception {
+        List<JenkinsJobBuild> jobBuildsInRange = jenkinsService.getJobBuildsByTimeRange(headers, startTime, endTime, jobName, match);
+        return toBuiltOnRows(jobBuildsInRange, builtOnFilter);
+    }
+
+    //keep the builds that ran on the selected node (every build when builtOnFilter is null), as response rows
+    static List<Map<String, String>> toBuiltOnRows(List<JenkinsJobBuild> jobBuildsInRange, String builtOnFilter) {
+        List<Map<String, String>> rows = new ArrayList<>();
+        for (JenkinsJobBuild jobBuild : jobBuildsInRange) {
+            String builtOn = jobBuild.getBuiltOn() == null ? "" : jobBuild.getBuiltOn();
+            if (builtOnFilter == null || builtOnFilter.equals(builtOn)) {
+                rows.add(toRow(jobBuild));
+            }
+        }
+        return rows;
+    }
+
+    static Map<String, String> toRow(JenkinsJobBuild jobBuild) {
+        Map<String, String> jobBuildData = new HashMap<>();
+        jobBuildData.put("jobname", jobBuild.getJobName());
+        jobBuildData.put("buildnumber", String.valueOf(jobBuild.getBuildNumber()));
+        jobBuildData.put("date", String.valueOf(jobBuild.getdateTime()));
+        jobBuildData.put("duration", jobBuild.getjobDuration() + " milliseconds");
+        jobBuildData.put("queuingDuration", jobBuild.getQueuingDuration() + " milliseconds");
+        jobBuildData.put("jobStatus", jobBuild.getJobStatus());
+        jobBuildData.put("TheEndTime", String.valueOf(jobBuild.getTheEndTime()));
+        jobBuildData.put("ExecutionDate", String.valueOf(jobBuild.getExecutionDate()));
+        return jobBuildData;
+    }
+
+    //////////////////////////////////////////////////////////////////
+    //console output of a build from a byte offset, passed through as Jenkins sends it.
+    //X-Text-Size is the offset to ask from next time and X-More-Data is set while the build is running: polling with it tails the log
+    @GetMapping("/console-log")
+    public ResponseEntity<StreamingResponseBody> getConsoleLog(@RequestParam String job, @RequestParam int build,
+                                                               @RequestParam(defaultValue = "0") long start, HttpServletRequest request) {
+        HttpHeaders headers = authHeaders.getHeaders();
+        if (headers == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (start < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        ConsoleLogService.ConsoleLog consoleLog;
+        try {
+            // Opened here so the Jenkins headers can be passed on, the body is copied outside the request thread
+            consoleLog = consoleLogService.open(headers, job, build, start);
+        } catch (JenkinsUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+        if (consoleLog == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (consoleLog) {
+                consoleLog.getBody().transferTo(outputStream);
+            }
+        };
+        // The body may never run (async timeout, executor full, client gone): the log and its stream permit are
+        // released when the request ends whichever way, which also cuts a copy still running at the timeout
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor("console-log", new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                consoleLog.close();
+            }
+        });
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+        if (consoleLog.getTextSize() >= 0) {
+            response.header("X-Text-Size", String.valueOf(consoleLog.getTextSize()));
+        }
+        if (consoleLog.isMoreData()) {
+            response.header("X-More-Data", "true");
+        }
+        return response.body(body);
+    }
+
+    //lines of the console output matching a regex, with the byte offset each starts at; the log is scanned as it streams.
+    //nextStart and nextSkip resume the search (truncated: maxMatches was reached, moreData: the build is still running)
+    @GetMapping("/console-log/search")
+    public ResponseEntity<Object> searchConsoleLog(@RequestParam String job, @RequestParam int build, @RequestParam String pattern,
+                                                   @RequestParam(defaultValue = "0") long start,
+                                                   @RequestParam(defaultValue = "0") int skip,
+                                                   @RequestParam(defaultValue = "1000") int maxMatches) {
+        try {
+            HttpHeaders headers = authHeaders.getHeaders();
+            if (headers == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.singletonMap("error", "Not authenticated."));
+            }
+            if (start < 0 || skip < 0 || maxMatches <= 0) {
+                return ResponseEntity.badRequest().body(Collections.singletonMap("error", "start and skip must not be negative and maxMatches must be positive."));
+            }
+            Pattern regex;
+            try {
+                regex = Pattern.compile(pattern);
+            } catch (PatternSyntaxException e) {
+                return ResponseEntity.badRequest().body(Collections.singletonMap("error", "Invalid pattern: " + e.getDescription()));
+            }
+
+            ConsoleLogService.SearchResult result = consoleLogService.search(headers, job, build, start, skip, regex, maxMatches);
+            if (result == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("error", "No build " + build + " of " + job + "."));
+            }
+            return ResponseEntity.ok().body(result);
+        } catch (ConsoleLogService.MatchTimeoutException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", "Pattern took too long to match, try a simpler one."));
+        } catch (JenkinsUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Collections.singletonMap("error", "Jenkins is not available right now, try again shortly."));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", "An unexpected error occurred: " + e.getMessage()));
+        }
+    }
+
+    //////////////////////////////////////////////////////////////////
+    //one dashboard over every federated controller (jenkins.federation.*): builds newest first, each row naming its controller,
+    //and under "controllers" how each one answered (complete, or partial/timeout when it missed the deadline, or failed)
+    @GetMapping("/federated/latest-builds")
+    public ResponseEntity<Object> getFederatedLatestBuilds(@RequestParam(defaultValue = "10") int limit) {
+        HttpHeaders headers = authHeaders.getHeaders();
+        if (headers == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.singletonMap("error", "Not authenticated."));
+        }
+        if (limit <= 0) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", "limit must be positive."));
+        }
+        return ResponseEntity.ok().body(toFederatedResponse(jenkinsFederation.getLatestBuilds(headers, limit)));
+    }
 
-            if (AllJobInfoObject instanceof List) {
-                List<Map<String, String>> AllJobInfo = (List<Map<String, String>>) AllJobInfoObject;
+    @PostMapping("/federated/job-builds-by-time-range-picker")
+    public ResponseEntity<Object> getFederatedJobBuildsByTimeRangePicker(@RequestBody Map<String, String> dateData) {
+        try {
+            HttpHeaders headers = authHeaders.getHeaders();
+            if (headers == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.singletonMap("error", "Not authenticated."));
+            }
 
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+            LocalDateTime startTimeD = LocalDateTime.parse(dateData.get("startTime"), formatter);
+            LocalDateTime endTimeD = LocalDateTime.parse(dateData.get("endTime"), formatter);
+            // Optional here, node names are looked up on each controller
+            String selectedNode = dateData.get("selectedNode");
+            TimeRangeMatch match = "overlap".equals(dateData.get("match")) ? TimeRangeMatch.OVERLAPPED : TimeRangeMatch.STARTED;
+
+            return ResponseEntity.ok().body(toFederatedResponse(jenkinsFederation.getJobBuildsByTimeRange(headers, startTimeD, endTimeD, match, selectedNode)));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", "An unexpected error occurred: " + e.getMessage()));
+        }
+    }
+
+    private static Map<String, Object> toFederatedResponse(JenkinsFederation.Result result) {
+        List<Map<String, String>> rows = new ArrayList<>();
+        for (JenkinsFederation.FederatedBuild federatedBuild : result.getBuilds()) {
+            Map<String, String> row = toRow(federatedBuild.getBuild());
+            row.put("controller", federatedBuild.getController());
+            rows.add(row);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("builds", rows);
+        response.put("controllers", result.getControllers());
+        return response;
+    }
+
+    //////////////////////////////////////////////////////////////////
+    //same query as /job-builds-by-time-range-picker, written as NDJSON (one build per line) job by job as soon as each job is resolved
+    @PostMapping("/job-builds-by-time-range-picker/stream")
+    public ResponseEntity<StreamingResponseBody> streamJobBuildsByTimeRangePicker(@RequestBody Map<String, String> dateData) {
+        // Resolve the credentials now, the body is written outside the request thread
+        HttpHeaders headers = authHeaders.getHeaders();
+        if (headers == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+        LocalDateTime startTimeD;
+        LocalDateTime endTimeD;
+        try {
+            startTimeD = LocalDateTime.parse(dateData.get("startTime"), formatter);
+            endTimeD = LocalDateTime.parse(dateData.get("endTime"), formatter);
+        } catch (DateTimeParseException | NullPointerException e) {
+            Map<String, String> error = Collections.singletonMap("error", "Invalid startTime or endTime: " + e.getMessage());
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(outputStream -> outputStream.write(objectMapper.writeValueAsBytes(error)));
+        }
+        String selectedNode = dateData.get("selectedNode");
+        TimeRangeMatch match = "overlap".equals(dateData.get("match")) ? TimeRangeMatch.OVERLAPPED : TimeRangeMatch.STARTED;
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                String builtOnFilter = nodeCatalog.toBuiltOn(headers, selectedNode);
+                List<String> jobNames = jobCatalog.getJobPaths(headers);
                 for (String jobName : jobNames) {
-                    List<JenkinsJobBuild> jobBuildsInRange = jenkinsService.getJobBuildsByTimeRange(headers,startTimeD, endTimeD, jobName);
-
-                    for (JenkinsJobBuild jobBuild : jobBuildsInRange) {
-                        // The object to find
-                        Map<String, String> objectToFind = new HashMap<>();
-                        objectToFind.put("number", String.valueOf(jobBuild.getBuildNumber()));
-                        objectToFind.put("name", jobBuild.getJobName());
-                        //The Selected Node Here :
-                        //objectToFind.put("builtOn", "Madrid");
-                        if (selectedNode.equals("maître"))
-                            {objectToFind.put("builtOn", "");}
-                        else
-                            {objectToFind.put("builtOn", selectedNode);}
-
-                        // Loop through the 'AllJobInfo' list and check if the object is present
-                        for (Map<String, String> jobInfo : AllJobInfo) {
-                            if (jobInfo.equals(objectToFind)) {
-                                Map<String, String> jobBuildData = new HashMap<>();
-                                jobBuildData.put("jobname", jobBuild.getJobName());
-                                jobBuildData.put("buildnumber", String.valueOf(jobBuild.getBuildNumber()));
-                                jobBuildData.put("date", String.valueOf(jobBuild.getdateTime()));
-                                jobBuildData.put("duration", jobBuild.getjobDuration() + " milliseconds");
-                                jobBuildData.put("queuingDuration", jobBuild.getQueuingDuration() + " milliseconds");
-                                jobBuildData.put("jobStatus", jobBuild.getJobStatus());
-                                jobBuildData.put("TheEndTime", String.valueOf(jobBuild.getTheEndTime()));
-                                jobBuildData.put("ExecutionDate", String.valueOf(jobBuild.getExecutionDate()));
-
-                                response.add(jobBuildData);
-                                break; // If we found the object, no need to continue searching
-                            }
-                        }
+                    for (Map<String, String> row : getJobBuildRows(headers, jobName, startTimeD, endTimeD, match, builtOnFilter)) {
+                        outputStream.write(objectMapper.writeValueAsBytes(row));
+                        outputStream.write('\n');
                     }
+                    outputStream.flush();
+                }
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                // Headers are already sent, report the failure as the last line
+                outputStream.write(objectMapper.writeValueAsBytes(Collections.singletonMap("error", "An unexpected error occurred: " + e.getMessage())));
+                outputStream.write('\n');
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
+    //////////////////////////////////////////////////////////////////
+    //same query, one page at a time: {"items": [...], "nextCursor": "..."}; pass nextCursor back as "cursor" for the next page
+    @PostMapping("/job-builds-by-time-range-picker/page")
+    public ResponseEntity<Object> getJobBuildsByTimeRangePickerPage(@RequestBody Map<String, String> dateData) {
+        try {
+            HttpHeaders headers = authHeaders.getHeaders(); // Retrieve the authentication headers from the session-scoped bean
+
+            if (headers == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.singletonMap("error", "Not authenticated."));
+            }
+
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+            LocalDateTime startTimeD = LocalDateTime.parse(dateData.get("startTime"), formatter);
+            LocalDateTime endTimeD = LocalDateTime.parse(dateData.get("endTime"), formatter);
+            String selectedNode = dateData.get("selectedNode");
+            String builtOnFilter = nodeCatalog.toBuiltOn(headers, selectedNode);
+            TimeRangeMatch match = "overlap".equals(dateData.get("match")) ? TimeRangeMatch.OVERLAPPED : TimeRangeMatch.STARTED;
+            int pageSize = dateData.containsKey("pageSize") ? Integer.parseInt(dateData.get("pageSize")) : 100;
+            if (pageSize <= 0) {
+                return ResponseEntity.badRequest().body(Collections.singletonMap("error", "pageSize must be positive."));
+            }
+
+            List<String> jobNames = jobCatalog.getJobPaths(headers);
+
+            // The cursor is the job to continue with and how many of its rows were already returned
+            int jobIndex = 0;
+            int offset = 0;
+            String cursor = dateData.get("cursor");
+            if (cursor != null && !cursor.isEmpty()) {
+                try {
+                    String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", 2);
+                    offset = Integer.parseInt(position[0]);
+                    jobIndex = offset < 0 ? -1 : jobNames.indexOf(position[1]);
+                } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                    jobIndex = -1; // not base64, no job name or an offset that is not a number
                 }
+                if (jobIndex < 0) {
+                    return ResponseEntity.badRequest().body(Collections.singletonMap("error", "Invalid cursor."));
+                }
+            }
 
-                if (!response.isEmpty()) {
-                    return ResponseEntity.ok().body(response);
-                } else {
-                    return ResponseEntity.ok().body(Collections.singletonMap("message", "No job builds found within the specified time range."));
+            List<Map<String, String>> items = new ArrayList<>();
+            String nextCursor = null;
+            for (; jobIndex < jobNames.size() && nextCursor == null; jobIndex++, offset = 0) {
+                String jobName = jobNames.get(jobIndex);
+                List<Map<String, String>> rows = getJobBuildRows(headers, jobName, startTimeD, endTimeD, match, builtOnFilter);
+                int take = Math.min(rows.size() - offset, pageSize - items.size());
+                if (take > 0) {
+                    items.addAll(rows.subList(offset, offset + take));
+                }
+                if (items.size() == pageSize) {
+                    if (offset + take < rows.size()) {
+                        nextCursor = encodeCursor(jobName, offset + take);
+                    } else if (jobIndex + 1 < jobNames.size()) {
+                        nextCursor = encodeCursor(jobNames.get(jobIndex + 1), 0);
+                    }
+                    break;
                 }
-            } else {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", "Unexpected response format from Jenkins."));
             }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("items", items);
+            response.put("nextCursor", nextCursor);
+            return ResponseEntity.ok().body(response);
+        } catch (JenkinsUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Collections.singletonMap("error", "Jenkins is not available right now, try again shortly."));
         } catch (JsonProcessingException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", "Error processing the Jenkins job build data."));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", "An unexpected error occurred: " + e.getMessage()));
         }
     }
+
+    private static String encodeCursor(String jobName, int offset) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((offset + "\n" + jobName).getBytes(StandardCharsets.UTF_8));
+    }
+
+    //////////////////////////////////////////////////////////////////
+    //statistics over the local build history, for any combination of job, node and window
+    //startTime/endTime use the picker format (yyyy-MM-dd'T'HH:mm), job and node are optional
+    @GetMapping("/stats/{kind}")
+    public ResponseEntity<Object> getBuildStatistics(@PathVariable String kind,
+                                                     @RequestParam String startTime,
+                                                     @RequestParam String endTime,
+                                                     @RequestParam(required = false) String job,
+                                                     @RequestParam(required = false) String node,
+                                                     @RequestParam(defaultValue = "50,95,99") String percentiles) {
+        try {
+            HttpHeaders headers = authHeaders.getHeaders();
+            if (headers == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.singletonMap("error", "Not authenticated."));
+            }
+            if (!buildStatisticsService.isEnabled()) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Collections.singletonMap("error", "Statistics need the local build history (jenkins.store.enabled)."));
+            }
+
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+            LocalDateTime startTimeD = LocalDateTime.parse(startTime, formatter);
+            LocalDateTime endTimeD = LocalDateTime.parse(endTime, formatter);
+            String builtOn = nodeCatalog.toBuiltOn(headers, node);
+
+            switch (kind) {
+                case "percentiles":
+                    double[] requested = Arrays.stream(percentiles.split(",")).map(String::trim).mapToDouble(Double::parseDouble).toArray();
+                    return ResponseEntity.ok().body(buildStatisticsService.getPercentiles(job, builtOn, startTimeD, endTimeD, requested));
+                case "throughput":
+                    return ResponseEntity.ok().body(buildStatisticsService.getThroughput(job, builtOn, startTimeD, endTimeD));
+                case "failure-rate":
+                    return ResponseEntity.ok().body(buildStatisticsService.getFailureRate(job, builtOn, startTimeD, endTimeD));
+                default:
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("error", "Unknown statistic: " + kind));
+            }
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", "An unexpected error occurred: " + e.getMessage()));
+        }
+    }
+
     //////////////////////////////////////////////////////////////////
 
     @PostMapping("/SelectedNode")
@@ -211,8 +636,7 @@ public class FinalController {
         if (headers != null) {
             // If authentication is successful, set the headers in the session-scoped bean
             authHeaders.setHeaders(headers);
-            HttpHeaders s = authHeaders.getHeaders();
-            System.out.println("authenticate:" + s.toString());
+            log.info("Authenticated {} against Jenkins", username);
 
             return ResponseEntity.ok().build();
         } else {
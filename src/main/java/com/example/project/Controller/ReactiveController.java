@@ -0,0 +1,163 @@
+package com.example.project.Controller;
+import com.example.project.HttpClientConfig.JenkinsUnavailableException;
+import com.example.project.Model.AuthHeaders;
+import com.example.project.Model.JenkinsJobBuild;
+import com.example.project.Model.TimeRangeMatch;
+import com.example.project.Service.ReactiveJenkinsService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.*;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+//Reactive variant of the Jenkins endpoints of FinalController, under /api/rx (profile "reactive").
+//Handlers return Mono/Flux: the request thread is released right away and the response is written
+//when Jenkins has answered, so waiting requests hold no thread.
+@RestController
+
+@RequestMapping("/api/rx")
+
+@Profile("reactive")
+public class ReactiveController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveController.class);
+
+    private final ReactiveJenkinsService jenkinsService;
+    private AuthHeaders authHeaders;
+
+    @Autowired
+    public ReactiveController(ReactiveJenkinsService jenkinsService) {
+        this.jenkinsService = jenkinsService;
+        this.authHeaders = new AuthHeaders();
+    }
+
+    //////////////////////////////////////////////////////////////////
+    @GetMapping("/last-job-build-description")
+    public Mono<ResponseEntity<Object>> getLastJobDescription() {
+        HttpHeaders headers = authHeaders.getHeaders();
+        if (headers == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.singletonMap("error", "Not authenticated.")));
+        }
+        return jenkinsService.getLatestJobBuild(headers)
+                .map(jobBuild -> {
+                    Map<String, String> response = new HashMap<>();
+                    response.put("jobname", jobBuild.getJobName());
+                    response.put("buildnumber", String.valueOf(jobBuild.getBuildNumber()));
+                    response.put("date", String.valueOf(jobBuild.getdateTime()));
+                    response.put("duration", jobBuild.getjobDuration() + " milliseconds");
+                    response.put("jobStatus", jobBuild.getJobStatus());
+                    return ResponseEntity.ok().<Object>body(response);
+                })
+                .defaultIfEmpty(ResponseEntity.ok().body(Collections.singletonMap("message", "No job build found.")))
+                .onErrorResume(e -> Mono.just(errorResponse(e, "Error processing the Jenkins job build data.")));
+    }
+
+    //////////////////////////////////////////////////////////////////
+    @GetMapping("/nodeNames")
+    public Mono<ResponseEntity<List<String>>> getNodeNames() {
+        HttpHeaders headers = authHeaders.getHeaders();
+        if (headers == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        return jenkinsService.getNodesNames(headers)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(e instanceof JenkinsUnavailableException
+                        ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.INTERNAL_SERVER_ERROR).build()));
+    }
+
+    //////////////////////////////////////////////////////////////////
+    @GetMapping("/get-job-info")
+    public Mono<ResponseEntity<Object>> getallJobInfo() {
+        HttpHeaders headers = authHeaders.getHeaders();
+        if (headers == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.singletonMap("error", "Not authenticated.")));
+        }
+        return jenkinsService.getBuildNodeIndex(headers)
+                .map(buildNodeIndex -> ResponseEntity.ok().<Object>body(buildNodeIndex.toJobInfoList()))
+                .onErrorResume(e -> Mono.just(errorResponse(e, "Error processing the Jenkins job build data.")));
+    }
+
+    //////////////////////////////////////////////////////////////////
+    @PostMapping("/job-builds-by-time-range-picker")
+    public Mono<ResponseEntity<Object>> getJobBuildsByTimeRangePicker(@RequestBody Map<String, String> dateData) {
+        HttpHeaders headers = authHeaders.getHeaders();
+        if (headers == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.singletonMap("error", "Not authenticated.")));
+        }
+        return getJobBuildRows(headers, dateData)
+                .collectList()
+                .map(response -> response.isEmpty()
+                        ? ResponseEntity.ok().<Object>body(Collections.singletonMap("message", "No job builds found within the specified time range."))
+                        : ResponseEntity.ok().<Object>body(response))
+                .onErrorResume(e -> Mono.just(errorResponse(e, "Error processing the Jenkins job build data.")));
+    }
+
+    //same query as NDJSON, rows are written job by job as Jenkins answers and Jenkins is only asked as fast as the client reads
+    @PostMapping(path = "/job-builds-by-time-range-picker/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<Map<String, String>>> streamJobBuildsByTimeRangePicker(@RequestBody Map<String, String> dateData) {
+        HttpHeaders headers = authHeaders.getHeaders();
+        if (headers == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Flux<Map<String, String>> rows = getJobBuildRows(headers, dateData)
+                // Headers are already sent, report the failure as the last line
+                .onErrorResume(e -> Flux.just(Collections.singletonMap("error", "An unexpected error occurred: " + e.getMessage())));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(rows);
+    }
+
+    //rows of every job for the time-range endpoints: builds in the window that ran on the selected node, in job order
+    private Flux<Map<String, String>> getJobBuildRows(HttpHeaders headers, Map<String, String> dateData) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+        LocalDateTime startTimeD;
+        LocalDateTime endTimeD;
+        try {
+            startTimeD = LocalDateTime.parse(dateData.get("startTime"), formatter);
+            endTimeD = LocalDateTime.parse(dateData.get("endTime"), formatter);
+        } catch (RuntimeException e) {
+            return Flux.error(e);
+        }
+        // No selectedNode means builds of every node
+        String selectedNode = dateData.get("selectedNode");
+        TimeRangeMatch match = "overlap".equals(dateData.get("match")) ? TimeRangeMatch.OVERLAPPED : TimeRangeMatch.STARTED;
+
+        return Mono.zip(jenkinsService.getJobPaths(headers), jenkinsService.toBuiltOn(headers, selectedNode))
+                .flatMapMany(query -> {
+                    String builtOnFilter = query.getT2().orElse(null);
+                    return jenkinsService.getJobBuildsByTimeRange(headers, startTimeD, endTimeD, query.getT1(), match)
+                            .concatMapIterable((List<JenkinsJobBuild> builds) -> FinalController.toBuiltOnRows(builds, builtOnFilter));
+                });
+    }
+
+    private static ResponseEntity<Object> errorResponse(Throwable e, String parseErrorMessage) {
+        if (e instanceof JenkinsUnavailableException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Collections.singletonMap("error", "Jenkins is not available right now, try again shortly."));
+        }
+        if (e instanceof JsonProcessingException) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", parseErrorMessage));
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", "An unexpected error occurred: " + e.getMessage()));
+    }
+
+    //////////////////////////////////////////////////////////////////
+    @PostMapping("/authenticate")
+    public Mono<ResponseEntity<String>> authenticate(@RequestBody Map<String, String> request) {
+        String username = request.get("username");
+        String password = request.get("password");
+
+        return jenkinsService.getAuthHeadersJenkins(username, password)
+                .map(headers -> {
+                    authHeaders.setHeaders(headers);
+                    log.info("Authenticated {} against Jenkins", username);
+                    return ResponseEntity.ok().<String>build();
+                })
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.project.HttpClientConfig;
+
+//AIMD limit on the number of outstanding Jenkins requests.
+//Each request that comes back in time while the limit is in use raises it by 1/limit (about +1 per round of requests),
+//each slow or failed one cuts it by the backoff ratio. Requests over the limit wait a bounded time for a slot.
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdMillis) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdMillis * 1_000_000;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //false when no slot freed up within the timeout
+    public synchronized boolean acquire(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        while (inFlight >= (int) limit) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(Math.max(1, remaining / 1_000_000));
+        }
+        inFlight++;
+        return true;
+    }
+
+    //Jenkins answered a request still holding its slot: dropped means it failed in a way that points at an overloaded Jenkins
+    public synchronized void record(long latencyNanos, boolean dropped) {
+        if (dropped || latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight >= limit / 2) {
+            // Only grow while the limit is actually being used
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    //a request is done with its slot (its response closed, or it was never sent)
+    public synchronized void release() {
+        inFlight--;
+        notifyAll();
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.project.HttpClientConfig;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+//One pooled HTTP client for all Jenkins traffic: connections are kept alive and reused between requests,
+//responses are requested and decoded with gzip/deflate, every request is bounded by timeouts and measured,
+//and the number of outstanding requests adapts to how Jenkins copes, with a circuit breaker when it does not.
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${jenkins.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${jenkins.http.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${jenkins.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMillis;
+
+    @Value("${jenkins.http.read-timeout-ms:30000}")
+    private long readTimeoutMillis;
+
+    //how long a request waits for a free pooled connection
+    @Value("${jenkins.http.pool-timeout-ms:5000}")
+    private long poolTimeoutMillis;
+
+    @Value("${jenkins.http.idle-timeout-ms:60000}")
+    private long idleTimeoutMillis;
+
+    @Value("${jenkins.limit.initial:20}")
+    private int initialLimit;
+
+    @Value("${jenkins.limit.min:2}")
+    private int minLimit;
+
+    @Value("${jenkins.limit.max:50}")
+    private int maxLimit;
+
+    @Value("${jenkins.limit.backoff-ratio:0.75}")
+    private double limitBackoffRatio;
+
+    //a request whose response headers take longer than this counts as congestion for the concurrency limit
+    @Value("${jenkins.limit.latency-threshold-ms:2000}")
+    private long limitLatencyThresholdMillis;
+
+    //how long a request waits for a slot under the limit before it is rejected
+    @Value("${jenkins.limit.queue-timeout-ms:2000}")
+    private long limitQueueTimeoutMillis;
+
+    @Value("${jenkins.breaker.window-size:50}")
+    private int breakerWindowSize;
+
+    @Value("${jenkins.breaker.minimum-calls:20}")
+    private int breakerMinimumCalls;
+
+    @Value("${jenkins.breaker.failure-rate:0.5}")
+    private double breakerFailureRate;
+
+    //a request whose response headers take longer than this counts as a failure for the circuit breaker
+    @Value("${jenkins.breaker.slow-call-ms:5000}")
+    private long breakerSlowCallMillis;
+
+    @Value("${jenkins.breaker.open-ms:10000}")
+    private long breakerOpenMillis;
+
+    @Value("${jenkins.breaker.half-open-calls:3}")
+    private int breakerHalfOpenCalls;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient jenkinsHttpClient() {
+        return createHttpClient();
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimit jenkinsConcurrencyLimit(MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimit concurrencyLimit = createConcurrencyLimit();
+        Gauge.builder("jenkins.client.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit).register(meterRegistry);
+        Gauge.builder("jenkins.client.in-flight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight).register(meterRegistry);
+        return concurrencyLimit;
+    }
+
+    @Bean
+    public CircuitBreaker jenkinsCircuitBreaker(MeterRegistry meterRegistry) {
+        CircuitBreaker circuitBreaker = createCircuitBreaker();
+        // 0 closed, 1 open, 2 half open
+        Gauge.builder("jenkins.client.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal()).register(meterRegistry);
+        return circuitBreaker;
+    }
+
+    @Bean
+    public RestTemplate jenkinsRestTemplate(CloseableHttpClient jenkinsHttpClient, AdaptiveConcurrencyLimit jenkinsConcurrencyLimit,
+                                            CircuitBreaker jenkinsCircuitBreaker, MeterRegistry meterRegistry) {
+        return createRestTemplate(jenkinsHttpClient, jenkinsConcurrencyLimit, jenkinsCircuitBreaker, meterRegistry);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //The factories below also build the clients of the other federated controllers (JenkinsFederation):
+    //same settings, but a pool, limit and breaker of their own so one controller struggling leaves the others alone
+
+    public CloseableHttpClient createHttpClient() {
+        return createHttpClient(readTimeoutMillis);
+    }
+
+    //a client whose reads give up after responseTimeoutMillis at most (never later than jenkins.http.read-timeout-ms)
+    public CloseableHttpClient createHttpClient(long responseTimeoutMillis) {
+        Timeout responseTimeout = Timeout.ofMilliseconds(Math.min(responseTimeoutMillis, readTimeoutMillis));
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                        .setSocketTimeout(responseTimeout)
+                        // Check a connection that sat idle before reusing it, Jenkins may have closed it
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMillis))
+                .setResponseTimeout(responseTimeout)
+                .build();
+
+        // Content compression is on by default: Accept-Encoding gzip/deflate is sent and responses are decoded
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeoutMillis))
+                .build();
+    }
+
+    public AdaptiveConcurrencyLimit createConcurrencyLimit() {
+        return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, limitBackoffRatio, limitLatencyThresholdMillis);
+    }
+
+    public CircuitBreaker createCircuitBreaker() {
+        return new CircuitBreaker(breakerWindowSize, breakerMinimumCalls, breakerFailureRate, breakerOpenMillis, breakerHalfOpenCalls);
+    }
+
+    //protection first, so rejected requests are neither sent nor timed as Jenkins calls
+    public RestTemplate createRestTemplate(CloseableHttpClient httpClient, AdaptiveConcurrencyLimit concurrencyLimit,
+                                           CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        restTemplate.getInterceptors().add(new JenkinsProtectionInterceptor(concurrencyLimit, circuitBreaker,
+                limitQueueTimeoutMillis, breakerSlowCallMillis, meterRegistry));
+        restTemplate.getInterceptors().add(new JenkinsMetricsInterceptor(meterRegistry));
+        return restTemplate;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.project.HttpClientConfig;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+//WebClient counterpart of JenkinsProtectionInterceptor and JenkinsMetricsInterceptor:
+//requests are refused while the circuit breaker is open, the breaker learns from the time to the response headers,
+//and each request is timed until its body is consumed, with the same meters and tags as the blocking client.
+public class JenkinsExchangeFilter implements ExchangeFilterFunction {
+
+    private final CircuitBreaker circuitBreaker;
+    private final long slowCallNanos;
+    private final MeterRegistry meterRegistry;
+
+    public JenkinsExchangeFilter(CircuitBreaker circuitBreaker, long slowCallMillis, MeterRegistry meterRegistry) {
+        this.circuitBreaker = circuitBreaker;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                meterRegistry.counter("jenkins.client.rejected", "reason", "circuit-open").increment();
+                return Mono.error(new JenkinsUnavailableException("Jenkins circuit breaker is open"));
+            }
+            String endpoint = JenkinsMetricsInterceptor.endpointOf(request.url());
+            long start = System.nanoTime();
+            // The breaker gets exactly one result per request, whichever of error, cancel or headers comes first
+            AtomicBoolean answered = new AtomicBoolean();
+
+            return next.exchange(request)
+                    .map(response -> {
+                        if (answered.compareAndSet(false, true)) {
+                            boolean overloaded = JenkinsProtectionInterceptor.isOverloaded(response.statusCode());
+                            circuitBreaker.onResult(overloaded || System.nanoTime() - start > slowCallNanos);
+                        }
+                        return observe(response, endpoint, start);
+                    })
+                    .doOnError(e -> {
+                        record(endpoint, "IO_ERROR", start, -1);
+                        meterRegistry.counter("jenkins.client.errors", "endpoint", endpoint, "error", e.getClass().getSimpleName()).increment();
+                        if (answered.compareAndSet(false, true)) {
+                            circuitBreaker.onResult(true);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (answered.compareAndSet(false, true)) {
+                            circuitBreaker.onResult(false); // the caller gave up, Jenkins is not to blame
+                        }
+                    });
+        });
+    }
+
+    private ClientResponse observe(ClientResponse response, String endpoint, long start) {
+        HttpStatusCode status = response.statusCode();
+        if (status.isError()) {
+            meterRegistry.counter("jenkins.client.errors", "endpoint", endpoint, "error", String.valueOf(status.value())).increment();
+        }
+        AtomicLong bytes = new AtomicLong();
+        AtomicBoolean recorded = new AtomicBoolean();
+        return response.mutate()
+                .body(body -> body
+                        .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                        .doFinally(signal -> {
+                            if (recorded.compareAndSet(false, true)) {
+                                record(endpoint, String.valueOf(status.value()), start, bytes.get());
+                            }
+                        }))
+                .build();
+    }
+
+    private void record(String endpoint, String status, long start, long bytes) {
+        Timer.builder("jenkins.client.requests")
+                .description("Jenkins requests, until the response body is closed")
+                .tags("endpoint", endpoint, "status", status)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (bytes >= 0) {
+            DistributionSummary.builder("jenkins.client.response.size")
+                    .baseUnit("bytes")
+                    .tags("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .record(bytes);
+        }
+    }
+}
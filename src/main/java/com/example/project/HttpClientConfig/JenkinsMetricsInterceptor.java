@@ -0,0 +1,104 @@
+package com.example.project.HttpClientConfig;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+//Times every Jenkins request per endpoint type, from sending it until its body is closed (so streaming parses are included),
+//and records the response size and the failures (error statuses and I/O errors).
+//Endpoint types come from the URL shape: no job name or build number ends up in a tag.
+public class JenkinsMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public JenkinsMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String endpoint = endpointOf(request.getURI());
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException e) {
+            record(endpoint, "IO_ERROR", start, -1);
+            meterRegistry.counter("jenkins.client.errors", "endpoint", endpoint, "error", e.getClass().getSimpleName()).increment();
+            throw e;
+        }
+        HttpStatusCode status = response.getStatusCode();
+        if (status.isError()) {
+            meterRegistry.counter("jenkins.client.errors", "endpoint", endpoint, "error", String.valueOf(status.value())).increment();
+        }
+        return new ObservedResponse(response, bytes -> record(endpoint, String.valueOf(status.value()), start, bytes));
+    }
+
+    private void record(String endpoint, String status, long start, long bytes) {
+        Timer.builder("jenkins.client.requests")
+                .description("Jenkins requests, until the response body is closed")
+                .tags("endpoint", endpoint, "status", status)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (bytes >= 0) {
+            DistributionSummary.builder("jenkins.client.response.size")
+                    .baseUnit("bytes")
+                    .tags("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .record(bytes);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //auth, jobs, latest-builds, job-info, root, computer, job-last-build, job-depth, job-probe, job-range, job-builds, job or other
+    static String endpointOf(URI uri) {
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+        String query = uri.getQuery() == null ? "" : uri.getQuery();
+        if (path.endsWith("/computer/api/json")) {
+            return "computer";
+        }
+        if (path.contains("/job/")) {
+            if (path.endsWith("/lastBuild/api/json")) {
+                return "job-last-build";
+            }
+            if (query.contains("depth=")) {
+                return "job-depth";
+            }
+            if (query.contains("allBuilds[timestamp]")) {
+                return "job-probe";
+            }
+            if (query.contains("allBuilds[") && query.contains("{")) {
+                return "job-range";
+            }
+            if (query.contains("builds[")) {
+                return "job-builds";
+            }
+            return "job";
+        }
+        if (path.endsWith("/api/json")) {
+            if (query.equals("tree=mode")) {
+                return "auth";
+            }
+            if (query.contains("lastBuild")) {
+                return "latest-builds";
+            }
+            if (query.contains("builds[")) {
+                return "job-info";
+            }
+            if (query.contains("jobs[name]")) {
+                return "jobs";
+            }
+            return "root";
+        }
+        return "other";
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.project.HttpClientConfig;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+//Upstream protection for every Jenkins request: the circuit breaker rejects them outright while Jenkins is failing,
+//and the adaptive concurrency limit bounds how many are outstanding (extra ones wait a bounded time, then are rejected).
+//Rejections throw JenkinsUnavailableException before anything is sent.
+//Both learn from the time to the response headers, which is how long Jenkins took; a large body being read
+//by a slow caller says nothing about Jenkins. The limit slot is still held until the response is closed.
+public class JenkinsProtectionInterceptor implements ClientHttpRequestInterceptor {
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final CircuitBreaker circuitBreaker;
+    private final long queueTimeoutMillis;
+    private final long slowCallNanos;
+    private final MeterRegistry meterRegistry;
+
+    public JenkinsProtectionInterceptor(AdaptiveConcurrencyLimit concurrencyLimit, CircuitBreaker circuitBreaker,
+                                        long queueTimeoutMillis, long slowCallMillis, MeterRegistry meterRegistry) {
+        this.concurrencyLimit = concurrencyLimit;
+        this.circuitBreaker = circuitBreaker;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.slowCallNanos = slowCallMillis * 1_000_000;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        // Fail fast while the breaker is open rather than waiting for a slot first
+        if (!circuitBreaker.tryAcquire()) {
+            meterRegistry.counter("jenkins.client.rejected", "reason", "circuit-open").increment();
+            throw new JenkinsUnavailableException("Jenkins circuit breaker is open");
+        }
+        boolean acquired;
+        try {
+            acquired = concurrencyLimit.acquire(queueTimeoutMillis);
+        } catch (InterruptedException e) {
+            circuitBreaker.cancel();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a Jenkins request slot", e);
+        }
+        if (!acquired) {
+            circuitBreaker.cancel();
+            meterRegistry.counter("jenkins.client.rejected", "reason", "limit").increment();
+            throw new JenkinsUnavailableException("Too many outstanding Jenkins requests (limit " + concurrencyLimit.getLimit() + ")");
+        }
+
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+            answered(start, isOverloaded(response.getStatusCode()));
+        } catch (IOException | RuntimeException e) {
+            answered(start, true);
+            concurrencyLimit.release();
+            throw e;
+        }
+        return new ObservedResponse(response, bytes -> concurrencyLimit.release());
+    }
+
+    //the headers are in (or the request failed): that is Jenkins' share of the latency
+    private void answered(long start, boolean failed) {
+        long latency = System.nanoTime() - start;
+        concurrencyLimit.record(latency, failed);
+        circuitBreaker.onResult(failed || latency > slowCallNanos);
+    }
+
+    //statuses that mean Jenkins is struggling, as opposed to a bad request or bad credentials
+    static boolean isOverloaded(HttpStatusCode status) {
+        return status.is5xxServerError() || status.value() == 429;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.project.HttpClientConfig;
+
+import org.springframework.web.client.RestClientException;
+
+//Jenkins is not answering usefully: the circuit breaker is open, no request slot freed up in time,
+//or Jenkins itself answered 5xx/429. Callers may fall back to cached data.
+public class JenkinsUnavailableException extends RestClientException {
+
+    public JenkinsUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.project.HttpClientConfig;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+//Response wrapper calling back once, when the response is closed, with the number of body bytes read.
+//The RestTemplate closes the response after the extractor is done, so this marks the real end of a request.
+class ObservedResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse response;
+    private final LongConsumer onClose;
+    private CountingInputStream body;
+    private boolean closed;
+
+    ObservedResponse(ClientHttpResponse response, LongConsumer onClose) {
+        this.response = response;
+        this.onClose = onClose;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return response.getStatusCode();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public int getRawStatusCode() throws IOException {
+        return response.getRawStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return response.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return response.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        if (body == null) {
+            body = new CountingInputStream(response.getBody());
+        }
+        return body;
+    }
+
+    @Override
+    public void close() {
+        response.close();
+        if (!closed) {
+            closed = true;
+            onClose.accept(body == null ? 0 : body.count);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
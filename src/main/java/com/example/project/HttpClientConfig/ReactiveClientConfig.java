@@ -0,0 +1,75 @@
+package com.example.project.HttpClientConfig;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+//Non-blocking Jenkins client of the reactive variant (profile "reactive"): a Reactor Netty connection pool
+//sized like the blocking one, served by a few event-loop threads whatever the number of requests waiting on Jenkins.
+//Requests waiting for a connection are queued without a thread, up to pending-acquire-max-count.
+@Configuration
+@Profile("reactive")
+public class ReactiveClientConfig {
+
+    @Value("${jenkins.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${jenkins.http.connect-timeout-ms:5000}")
+    private int connectTimeoutMillis;
+
+    @Value("${jenkins.http.read-timeout-ms:30000}")
+    private long readTimeoutMillis;
+
+    @Value("${jenkins.http.pool-timeout-ms:5000}")
+    private long poolTimeoutMillis;
+
+    @Value("${jenkins.http.idle-timeout-ms:60000}")
+    private long idleTimeoutMillis;
+
+    @Value("${jenkins.reactive.pending-acquire-max-count:1000}")
+    private int pendingAcquireMaxCount;
+
+    //cap on the small projections read whole; build lists are parsed as they stream in and are not bound by it
+    @Value("${jenkins.reactive.max-in-memory-bytes:16777216}")
+    private int maxInMemoryBytes;
+
+    @Value("${jenkins.breaker.slow-call-ms:5000}")
+    private long breakerSlowCallMillis;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider jenkinsConnectionProvider() {
+        return ConnectionProvider.builder("jenkins")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(poolTimeoutMillis))
+                .maxIdleTime(Duration.ofMillis(idleTimeoutMillis))
+                .evictInBackground(Duration.ofMillis(idleTimeoutMillis))
+                .build();
+    }
+
+    //same protection and metrics as the blocking client, except the adaptive limit: the fan-out concurrency
+    //and the pending-acquire queue bound the outstanding requests instead of blocking a thread
+    @Bean
+    public WebClient jenkinsWebClient(WebClient.Builder webClientBuilder, ConnectionProvider jenkinsConnectionProvider,
+                                      CircuitBreaker jenkinsCircuitBreaker, MeterRegistry meterRegistry) {
+        HttpClient httpClient = HttpClient.create(jenkinsConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(Duration.ofMillis(readTimeoutMillis))
+                .compress(true);
+
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemoryBytes))
+                .filter(new JenkinsExchangeFilter(jenkinsCircuitBreaker, breakerSlowCallMillis, meterRegistry))
+                .build();
+    }
+}
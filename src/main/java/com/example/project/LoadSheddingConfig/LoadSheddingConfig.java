@@ -0,0 +1,36 @@
+package com.example.project.LoadSheddingConfig;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class LoadSheddingConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${api.shedding.max-concurrent:64}")
+    private int maxConcurrent;
+
+    @Value("${api.shedding.max-queued:64}")
+    private int maxQueued;
+
+    @Value("${api.shedding.queue-timeout-ms:1000}")
+    private long queueTimeoutMillis;
+
+    public LoadSheddingConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    //the event stream is excluded: it holds its connection for minutes but costs no Jenkins request of its own.
+    //So is the reactive variant: its requests hold no thread while waiting, its Jenkins calls are bounded by the connection pool queue.
+    //Console logs have their own cap (jenkins.logs.max-streams) rather than holding a permit for a whole transfer
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new LoadSheddingInterceptor(maxConcurrent, maxQueued, queueTimeoutMillis, meterRegistry))
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/last-job-build-events", "/api/rx/**", "/api/console-log", "/api/console-log/search");
+    }
+}
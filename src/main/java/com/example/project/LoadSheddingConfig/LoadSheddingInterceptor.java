@@ -0,0 +1,80 @@
+package com.example.project.LoadSheddingConfig;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//Bounded admission for /api requests: at most maxConcurrent run at once, at most maxQueued wait (for up to queueTimeoutMillis)
+//for a free slot, and everything beyond that is answered 503 with Retry-After right away instead of tying up a Tomcat thread.
+//Streaming responses keep their slot until the async part completes.
+public class LoadSheddingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT = LoadSheddingInterceptor.class.getName() + ".permit";
+
+    private final Semaphore running;
+    private final int maxQueued;
+    private final long queueTimeoutMillis;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+
+    public LoadSheddingInterceptor(int maxConcurrent, int maxQueued, long queueTimeoutMillis, MeterRegistry meterRegistry) {
+        this.running = new Semaphore(maxConcurrent);
+        this.maxQueued = maxQueued;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true; // the slot was taken by the initial dispatch
+        }
+        if (running.tryAcquire()) {
+            request.setAttribute(PERMIT, Boolean.TRUE);
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            return shed(response, "queue-full");
+        }
+        try {
+            if (!running.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return shed(response, "queue-timeout");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return shed(response, "interrupted");
+        } finally {
+            queued.decrementAndGet();
+        }
+        request.setAttribute(PERMIT, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT) != null) {
+            request.removeAttribute(PERMIT);
+            running.release();
+        }
+    }
+
+    private boolean shed(HttpServletResponse response, String reason) throws IOException {
+        meterRegistry.counter("api.requests.shed", "reason", reason).increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write("{\"error\":\"Server busy, retry shortly.\"}".getBytes(StandardCharsets.UTF_8));
+        return false;
+    }
+}
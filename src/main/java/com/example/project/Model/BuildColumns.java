@@ -0,0 +1,136 @@
+package com.example.project.Model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+//Immutable set of builds stored column by column (structure of arrays), sorted by start time.
+//A build costs 40 bytes of primitives in these columns instead of a JenkinsJobBuild object graph (indexes built on top
+//add their own, see BuildIntervalIndex); names are ids into a shared NameTable and JenkinsJobBuild objects are only built
+//for the rows a query returns.
+public final class BuildColumns {
+
+    private static final int NO_NAME = -1;
+
+    private final NameTable names;
+    private final int[] jobIds;
+    private final int[] numbers;
+    private final long[] starts;
+    private final long[] durations;
+    private final long[] queuingDurations;
+    private final int[] resultIds;
+    private final int[] nodeIds;
+
+    private BuildColumns(NameTable names, int size) {
+        this.names = names;
+        this.jobIds = new int[size];
+        this.numbers = new int[size];
+        this.starts = new long[size];
+        this.durations = new long[size];
+        this.queuingDurations = new long[size];
+        this.resultIds = new int[size];
+        this.nodeIds = new int[size];
+    }
+
+    public static BuildColumns of(NameTable names, Collection<JenkinsJobBuild> builds) {
+        JenkinsJobBuild[] sorted = builds.toArray(new JenkinsJobBuild[0]);
+        // Builds mostly arrive in start order, so this sort is close to linear
+        Arrays.sort(sorted, (a, b) -> Long.compare(a.getStartMillis(), b.getStartMillis()));
+        BuildColumns columns = new BuildColumns(names, sorted.length);
+        for (int i = 0; i < sorted.length; i++) {
+            columns.set(i, sorted[i]);
+        }
+        return columns;
+    }
+
+    //both inputs are sorted by start, so this is a single linear merge
+    public BuildColumns merge(BuildColumns other) {
+        BuildColumns merged = new BuildColumns(names, size() + other.size());
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < merged.size(); k++) {
+            if (j >= other.size() || (i < size() && starts[i] <= other.starts[j])) {
+                merged.copyRow(k, this, i++);
+            } else {
+                merged.copyRow(k, other, j++);
+            }
+        }
+        return merged;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    public int size() {
+        return starts.length;
+    }
+
+    public long getStart(int row) {
+        return starts[row];
+    }
+
+    public long getEnd(int row) {
+        return starts[row] + durations[row];
+    }
+
+    //first row whose start is greater than (strict) or greater or equal to (non strict) the given time
+    public int firstStartAfter(long time, boolean strict) {
+        int lo = 0;
+        int hi = starts.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (strict ? starts[mid] <= time : starts[mid] < time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    //materialises one row, this is where a cached build turns back into an API object
+    public JenkinsJobBuild toJobBuild(int row) {
+        JenkinsJobBuild jobBuild = new JenkinsJobBuild();
+        jobBuild.setJobName(nameOf(jobIds[row]));
+        jobBuild.setBuildNumber(numbers[row]);
+        jobBuild.setStartMillis(starts[row]);
+        jobBuild.setDurationMillis(durations[row]);
+        jobBuild.setQueuingMillis(queuingDurations[row]);
+        jobBuild.setJobStatus(nameOf(resultIds[row]));
+        jobBuild.setBuiltOn(nameOf(nodeIds[row]));
+        return jobBuild;
+    }
+
+    public void addTo(List<JenkinsJobBuild> result) {
+        for (int row = 0; row < size(); row++) {
+            result.add(toJobBuild(row));
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    private void set(int row, JenkinsJobBuild jobBuild) {
+        jobIds[row] = idOf(jobBuild.getJobName());
+        numbers[row] = jobBuild.getBuildNumber();
+        starts[row] = jobBuild.getStartMillis();
+        durations[row] = jobBuild.getDurationMillis();
+        queuingDurations[row] = jobBuild.getQueuingMillis();
+        resultIds[row] = idOf(jobBuild.getJobStatus());
+        nodeIds[row] = idOf(jobBuild.getBuiltOn());
+    }
+
+    private void copyRow(int row, BuildColumns from, int fromRow) {
+        jobIds[row] = from.jobIds[fromRow];
+        numbers[row] = from.numbers[fromRow];
+        starts[row] = from.starts[fromRow];
+        durations[row] = from.durations[fromRow];
+        queuingDurations[row] = from.queuingDurations[fromRow];
+        resultIds[row] = from.resultIds[fromRow];
+        nodeIds[row] = from.nodeIds[fromRow];
+    }
+
+    private int idOf(String name) {
+        return name == null ? NO_NAME : names.idOf(name);
+    }
+
+    private String nameOf(int id) {
+        return id == NO_NAME ? null : names.nameOf(id);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.project.Model;
+
+import java.util.*;
+
+//Which node every build ran on, (job name, build number) -> builtOn, for the job info list
+public class BuildNodeIndex {
+
+    //builtOn value Jenkins leaves out of a build record (the job info list reports it as "-")
+    public static final String UNKNOWN_NODE = "-";
+
+    private final Map<String, Map<Integer, String>> builtOnByBuild = new LinkedHashMap<>();
+
+    public void put(String jobName, int buildNumber, String builtOn) {
+        builtOnByBuild.computeIfAbsent(jobName, k -> new LinkedHashMap<>()).put(buildNumber, builtOn);
+    }
+
+    //node a build ran on, or null when the build is unknown
+    public String getBuiltOn(String jobName, int buildNumber) {
+        Map<Integer, String> builds = builtOnByBuild.get(jobName);
+        return builds == null ? null : builds.get(buildNumber);
+    }
+
+    //flat {name, number, builtOn} list, in the order Jenkins reported the builds
+    public List<Map<String, String>> toJobInfoList() {
+        List<Map<String, String>> jobInfoList = new ArrayList<>();
+        builtOnByBuild.forEach((jobName, builds) -> builds.forEach((number, builtOn) -> {
+            Map<String, String> jobInfo = new HashMap<>();
+            jobInfo.put("name", jobName);
+            jobInfo.put("number", String.valueOf(number));
+            jobInfo.put("builtOn", builtOn);
+            jobInfoList.add(jobInfo);
+        }));
+        return jobInfoList;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.project.Model;
+
+import java.util.Arrays;
+
+//Mergeable log-linear histogram of millisecond durations (HDR-style).
+//Values below 64 ms are counted exactly, above that every power of two is split into 32 bins,
+//so any reported percentile is within about 3% of the true value.
+//Only non-empty bins are kept (sorted bin indexes with their counts), which keeps small histograms small.
+public class DurationHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+
+    private int[] bins = new int[4];
+    private long[] counts = new long[4];
+    private int size;
+
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    public void record(long value) {
+        record(value, 1);
+    }
+
+    public void record(long value, long count) {
+        if (value < 0) {
+            value = 0;
+        }
+        add(binOf(value), count);
+        totalCount += count;
+        sum += value * count;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    //adds every value of another histogram to this one
+    public void merge(DurationHistogram other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.bins[i], other.counts[i]);
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return totalCount == 0 ? 0 : max;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    //value at the given percentile (0-100), reported as the middle of its bin and clamped to the recorded range
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < size; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long value = (lowestValueOf(bins[i]) + highestValueOf(bins[i])) / 2;
+                return Math.max(getMin(), Math.min(getMax(), value));
+            }
+        }
+        return getMax();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    static int binOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int top = (int) (value >>> shift); // in [SUB_BUCKETS, 2 * SUB_BUCKETS[
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (top - SUB_BUCKETS);
+    }
+
+    static long lowestValueOf(int bin) {
+        if (bin < LINEAR_LIMIT) {
+            return bin;
+        }
+        int shift = (bin - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long top = SUB_BUCKETS + (bin - LINEAR_LIMIT) % SUB_BUCKETS;
+        return top << shift;
+    }
+
+    static long highestValueOf(int bin) {
+        if (bin < LINEAR_LIMIT) {
+            return bin;
+        }
+        int shift = (bin - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        return lowestValueOf(bin) + (1L << shift) - 1;
+    }
+
+    private void add(int bin, long count) {
+        int position = Arrays.binarySearch(bins, 0, size, bin);
+        if (position >= 0) {
+            counts[position] += count;
+            return;
+        }
+        position = -position - 1;
+        if (size == bins.length) {
+            bins = Arrays.copyOf(bins, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        System.arraycopy(bins, position, bins, position + 1, size - position);
+        System.arraycopy(counts, position, counts, position + 1, size - position);
+        bins[position] = bin;
+        counts[position] = count;
+        size++;
+    }
+}
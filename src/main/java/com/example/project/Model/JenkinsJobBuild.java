@@ -1,25 +1,28 @@
 package com.example.project.Model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.time.ZoneId;
 
 public class JenkinsJobBuild {
     private String jobName;
 
-    private LocalDateTime dateTime;    //Start Date
-
-    private LocalDateTime TheEndTime;
-
-    private LocalDateTime ExecutionDate;
+    private long startMillis;    //Start Date, epoch millis
 
     private int buildNumber;
 
-    private String jobDuration;
+    private long durationMillis;
 
     private String jobStatus;
 
-    private String queuingDuration;
+    private long queuingMillis = -1;    //-1 when Jenkins did not report it
 
+    private String builtOn;    //Node name as reported in the build record ("" for the built-in node)
+
+    //Times are kept as epoch millis and durations as longs, names are interned.
+    //LocalDateTime and String views below are only built when a caller asks for them (API edge).
 
 
     public String getJobName() {
@@ -27,15 +30,15 @@ public class JenkinsJobBuild {
     }
 
     public void setJobName(String jobName) {
-        this.jobName = jobName;
+        this.jobName = jobName == null ? null : jobName.intern();
     }
 
     public LocalDateTime getdateTime() {
-        return dateTime;
+        return toLocalDateTime(startMillis);
     }
 
     public void setdateTime(LocalDateTime dateTime) {
-        this.dateTime = dateTime;
+        this.startMillis = toMillis(dateTime);
     }
 
     public int getBuildNumber() {
@@ -47,11 +50,11 @@ public class JenkinsJobBuild {
     }
 
     public String getjobDuration() {
-        return jobDuration;
+        return String.valueOf(durationMillis);
     }
 
     public void setjobDuration(String jobDuration) {
-        this.jobDuration = jobDuration;
+        this.durationMillis = parseMillis(jobDuration);
     }
 
     public String getJobStatus() {
@@ -59,62 +62,111 @@ public class JenkinsJobBuild {
     }
 
     public void setJobStatus(String jobStatus) {
-        this.jobStatus = jobStatus;
+        this.jobStatus = jobStatus == null ? null : jobStatus.intern();
     }
 
     public String getQueuingDuration() {
-        return queuingDuration;
+        return queuingMillis < 0 ? "" : String.valueOf(queuingMillis);
     }
 
     public void setQueuingDuration(String queuingDuration) {
-        this.queuingDuration = queuingDuration;
+        this.queuingMillis = queuingDuration == null || queuingDuration.isEmpty() ? -1 : parseMillis(queuingDuration);
+    }
+
+
+
+    public String getBuiltOn() {
+        return builtOn;
+    }
+
+    public void setBuiltOn(String builtOn) {
+        this.builtOn = builtOn == null ? null : builtOn.intern();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    @JsonIgnore
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    public void setStartMillis(long startMillis) {
+        this.startMillis = startMillis;
+    }
+
+    @JsonIgnore
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
     }
 
+    //-1 when unknown
+    @JsonIgnore
+    public long getQueuingMillis() {
+        return queuingMillis;
+    }
 
+    public void setQueuingMillis(long queuingMillis) {
+        this.queuingMillis = queuingMillis < 0 ? -1 : queuingMillis;
+    }
+
+    //EndTime=StartDate+Duration
+    @JsonIgnore
+    public long getEndMillis() {
+        return startMillis + durationMillis;
+    }
 
+    //ExecutionDate=StartDate+QueuingDuration, the start date when the queuing duration is unknown
+    @JsonIgnore
+    public long getExecutionMillis() {
+        return queuingMillis < 0 ? startMillis : startMillis + queuingMillis;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
     public LocalDateTime CalculateTheEndTime() {
-        //EndTime=StartDate+Duration
-        String durationString = this.jobDuration;
-        durationString = durationString.replaceAll("[^\\d]", ""); // Remove all non-numeric characters
-        long durationMillis = Long.parseLong(durationString);
-        LocalDateTime EndTime = this.dateTime.plus(durationMillis, ChronoUnit.MILLIS);
-        this.TheEndTime = EndTime;
-        return EndTime;
+        return toLocalDateTime(getEndMillis());
     }
 
     public LocalDateTime getTheEndTime() {
-        return TheEndTime;
+        return CalculateTheEndTime();
     }
 
     public void setTheEndTime(LocalDateTime theEndTime) {
-        TheEndTime = theEndTime;
+        this.durationMillis = toMillis(theEndTime) - startMillis;
     }
 
     public LocalDateTime CalculateExecutionDate() {
-        //ExecutionDate=StartDate+QueuingDuration
-        String queuingDuration = this.queuingDuration;
-        if (queuingDuration.isEmpty())
-        {
-            //we don't have the value of queuing duration
-            LocalDateTime executionDate = this.dateTime;
-            return executionDate;
-        }
-        else
-        {
-            queuingDuration = queuingDuration.replaceAll("[^\\d]", ""); // Remove all non-numeric characters
-            long durationMillis = Long.parseLong(queuingDuration);
-            LocalDateTime executionDate = this.dateTime.plus(durationMillis, ChronoUnit.MILLIS);
-            this.ExecutionDate = executionDate;
-            return executionDate;
-        }
+        return toLocalDateTime(getExecutionMillis());
     }
 
-
     public LocalDateTime getExecutionDate() {
-        return ExecutionDate;
+        return CalculateExecutionDate();
     }
 
     public void setExecutionDate(LocalDateTime executionDate) {
-        ExecutionDate = executionDate;
+        this.queuingMillis = executionDate == null ? -1 : toMillis(executionDate) - startMillis;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    //digits only, anything else (unit suffixes, separators) is skipped
+    private static long parseMillis(String value) {
+        long millis = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                millis = millis * 10 + (c - '0');
+            }
+        }
+        return millis;
     }
 }
@@ -0,0 +1,66 @@
+package com.example.project.Model;
+
+//A Jenkins node (built-in node or agent) with its executor state
+public class JenkinsNode {
+
+    private String displayName;
+
+    private String builtOn;    //identifier used in build records, "" for the built-in node
+
+    private int numExecutors;
+
+    private int busyExecutors;
+
+    private boolean idle;
+
+    private boolean offline;
+
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public void setDisplayName(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getBuiltOn() {
+        return builtOn;
+    }
+
+    public void setBuiltOn(String builtOn) {
+        this.builtOn = builtOn;
+    }
+
+    public int getNumExecutors() {
+        return numExecutors;
+    }
+
+    public void setNumExecutors(int numExecutors) {
+        this.numExecutors = numExecutors;
+    }
+
+    public int getBusyExecutors() {
+        return busyExecutors;
+    }
+
+    public void setBusyExecutors(int busyExecutors) {
+        this.busyExecutors = busyExecutors;
+    }
+
+    public boolean isIdle() {
+        return idle;
+    }
+
+    public void setIdle(boolean idle) {
+        this.idle = idle;
+    }
+
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public void setOffline(boolean offline) {
+        this.offline = offline;
+    }
+}
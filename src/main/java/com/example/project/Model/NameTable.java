@@ -0,0 +1,43 @@
+package com.example.project.Model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//Dictionary of the job, node and result names held by BuildColumns, each name is stored once and referenced by id.
+//Lookups by id never lock: the id array is only ever replaced by a larger copy.
+public class NameTable {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[16];
+    private int size;
+
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : add(name);
+    }
+
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized int add(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        String[] current = names;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = name.intern();
+        // Publish the array before the id so a reader holding the id always finds the name
+        names = current;
+        ids.put(name, size);
+        return size++;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.project.Model;
+
+//How a build is matched against a time window
+public enum TimeRangeMatch {
+    //the build started inside the window
+    STARTED,
+    //the build was running at some point inside the window
+    OVERLAPPED;
+
+    //whether a build with this start and duration (epoch millis) matches the window ]from, to[
+    public boolean matches(long start, long duration, long from, long to) {
+        return this == OVERLAPPED
+                ? start + duration > from && start < to
+                : start > from && start < to;
+    }
+}
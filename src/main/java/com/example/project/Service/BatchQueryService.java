@@ -0,0 +1,235 @@
+package com.example.project.Service;
+import com.example.project.Model.JenkinsJobBuild;
+import com.example.project.Model.TimeRangeMatch;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+//Many time-range queries (window, node, job filter) answered from one fetch plan: the job catalog and the build/node index
+//are read once, each job's windows are merged into as few disjoint segments as possible, every segment is fetched once,
+//and each query then keeps its own builds from the shared data in memory.
+@Service
+public class BatchQueryService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchQueryService.class);
+
+    //segments fetched at the same time
+    @Value("${jenkins.batch.parallelism:8}")
+    private int parallelism;
+
+    @Value("${jenkins.batch.max-queries:50}")
+    private int maxQueries;
+
+    private final JenkinsService jenkinsService;
+    private final JobCatalog jobCatalog;
+    private final MeterRegistry meterRegistry;
+    private ExecutorService fetchExecutor;
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //one query of a batch; builtOn and jobPattern are optional (any node, every job)
+    public static final class Query {
+        final long from;
+        final long to;
+        final TimeRangeMatch match;
+        final String builtOn;
+        final Pattern jobPattern;
+
+        public Query(LocalDateTime startTime, LocalDateTime endTime, TimeRangeMatch match, String builtOn, Pattern jobPattern) {
+            this.from = startTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            this.to = endTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            this.match = match;
+            this.builtOn = builtOn;
+            this.jobPattern = jobPattern;
+        }
+
+        public String getBuiltOn() {
+            return builtOn;
+        }
+    }
+
+    //builds of one job to fetch between from and to, for all the queries whose windows it covers
+    static final class Segment {
+        final long from;
+        final long to;
+        final TimeRangeMatch match;
+
+        Segment(long from, long to, TimeRangeMatch match) {
+            this.from = from;
+            this.to = to;
+            this.match = match;
+        }
+    }
+
+    //builds of every query (in window and job filter, node left to the caller)
+    public static final class Batch {
+        private final List<List<JenkinsJobBuild>> buildsPerQuery;
+
+        Batch(List<List<JenkinsJobBuild>> buildsPerQuery) {
+            this.buildsPerQuery = buildsPerQuery;
+        }
+
+        public List<List<JenkinsJobBuild>> getBuildsPerQuery() {
+            return buildsPerQuery;
+        }
+    }
+
+    @Autowired
+    public BatchQueryService(JenkinsService jenkinsService, JobCatalog jobCatalog, MeterRegistry meterRegistry) {
+        this.jenkinsService = jenkinsService;
+        this.jobCatalog = jobCatalog;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void startFetchExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.fetchExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "jenkins-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopFetchExecutor() {
+        fetchExecutor.shutdownNow();
+    }
+
+    public int getMaxQueries() {
+        return maxQueries;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    public Batch run(HttpHeaders headers, List<Query> queries) throws Exception {
+        List<String> jobNames = jobCatalog.getJobPaths(headers);
+
+        // Plan: for each job, the queries it takes part in and the merged segments covering their windows
+        Map<String, List<Query>> queriesPerJob = new LinkedHashMap<>();
+        Map<String, List<Future<List<JenkinsJobBuild>>>> fetches = new LinkedHashMap<>();
+        int fetchCount = 0;
+        try {
+            for (String jobName : jobNames) {
+                List<Query> jobQueries = new ArrayList<>();
+                for (Query query : queries) {
+                    if (concerns(query, jobName)) {
+                        jobQueries.add(query);
+                    }
+                }
+                if (jobQueries.isEmpty()) {
+                    continue;
+                }
+                queriesPerJob.put(jobName, jobQueries);
+                List<Future<List<JenkinsJobBuild>>> jobFetches = new ArrayList<>();
+                for (Segment segment : mergeWindows(jobQueries)) {
+                    jobFetches.add(fetchExecutor.submit(() -> jenkinsService.getJobBuildsByTimeRange(headers,
+                            toLocalDateTime(segment.from), toLocalDateTime(segment.to), jobName, segment.match)));
+                }
+                fetches.put(jobName, jobFetches);
+                fetchCount += jobFetches.size();
+            }
+            DistributionSummary.builder("jenkins.batch.fetches")
+                    .description("Build fetches planned per batch, at most one per job and disjoint window")
+                    .register(meterRegistry)
+                    .record(fetchCount);
+            log.debug("Batch of {} queries planned as {} fetches over {} jobs", queries.size(), fetchCount, fetches.size());
+
+            // Evaluate: every query keeps its builds from the shared data
+            List<List<JenkinsJobBuild>> buildsPerQuery = new ArrayList<>();
+            Map<Query, List<JenkinsJobBuild>> byQuery = new IdentityHashMap<>();
+            for (Query query : queries) {
+                List<JenkinsJobBuild> builds = new ArrayList<>();
+                buildsPerQuery.add(builds);
+                byQuery.put(query, builds);
+            }
+            for (Map.Entry<String, List<Future<List<JenkinsJobBuild>>>> jobFetches : fetches.entrySet()) {
+                List<JenkinsJobBuild> jobBuilds = collect(jobFetches.getValue());
+                for (Query query : queriesPerJob.get(jobFetches.getKey())) {
+                    for (JenkinsJobBuild build : jobBuilds) {
+                        if (query.match.matches(build.getStartMillis(), build.getDurationMillis(), query.from, query.to)) {
+                            byQuery.get(query).add(build);
+                        }
+                    }
+                }
+            }
+            return new Batch(buildsPerQuery);
+        } finally {
+            for (List<Future<List<JenkinsJobBuild>>> jobFetches : fetches.values()) {
+                for (Future<List<JenkinsJobBuild>> fetch : jobFetches) {
+                    fetch.cancel(true);
+                }
+            }
+        }
+    }
+
+    //the job passes the query's filter; the node is checked on the builds, the index only knows recent builds of top-level jobs
+    private static boolean concerns(Query query, String jobName) {
+        return query.jobPattern == null || query.jobPattern.matcher(jobName).find();
+    }
+
+    //builds of every segment of a job, newest first, each build once (a long build may overlap two segments)
+    private static List<JenkinsJobBuild> collect(List<Future<List<JenkinsJobBuild>>> jobFetches) throws Exception {
+        Map<Integer, JenkinsJobBuild> builds = new HashMap<>();
+        for (Future<List<JenkinsJobBuild>> fetch : jobFetches) {
+            try {
+                for (JenkinsJobBuild build : fetch.get()) {
+                    builds.putIfAbsent(build.getBuildNumber(), build);
+                }
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
+                }
+                throw e;
+            }
+        }
+        List<JenkinsJobBuild> sorted = new ArrayList<>(builds.values());
+        sorted.sort(Comparator.comparingInt(JenkinsJobBuild::getBuildNumber).reversed());
+        return sorted;
+    }
+
+    //windows sorted by start and merged while they overlap; a segment serving an overlap query is fetched as overlap,
+    //which also returns every build started in it
+    static List<Segment> mergeWindows(List<Query> queries) {
+        List<Query> sorted = new ArrayList<>(queries);
+        sorted.sort(Comparator.comparingLong(query -> query.from));
+        List<Segment> segments = new ArrayList<>();
+        long from = 0;
+        long to = 0;
+        TimeRangeMatch match = null;
+        for (Query query : sorted) {
+            if (match != null && query.from <= to) {
+                to = Math.max(to, query.to);
+                match = query.match == TimeRangeMatch.OVERLAPPED ? TimeRangeMatch.OVERLAPPED : match;
+                continue;
+            }
+            if (match != null) {
+                segments.add(new Segment(from, to, match));
+            }
+            from = query.from;
+            to = query.to;
+            match = query.match;
+        }
+        if (match != null) {
+            segments.add(new Segment(from, to, match));
+        }
+        return segments;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.project.Service;
+import com.example.project.Model.JenkinsJobBuild;
+import com.example.project.Model.TimeRangeMatch;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+//Local build history: an append-only segment file on disk, replayed into memory at startup.
+//Records are only ever appended, the highest stored build number of each job drives the incremental sync.
+@Service
+public class BuildHistoryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(BuildHistoryStore.class);
+
+    private static final int RECORD_VERSION = 1;
+
+    @Value("${jenkins.store.enabled:false}")
+    private boolean enabled;
+
+    @Value("${jenkins.store.path:data/build-history.seg}")
+    private String storePath;
+
+    private final BuildIntervalIndex intervalIndex = new BuildIntervalIndex();
+    private final Map<String, Integer> highestBuildNumber = new HashMap<>();
+    private final Map<String, Long> highestBuildStart = new HashMap<>();
+    private final List<Consumer<List<JenkinsJobBuild>>> listeners = new ArrayList<>();
+    private DataOutputStream segmentOut;
+
+    @PostConstruct
+    void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path path = Paths.get(storePath);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        if (Files.exists(path)) {
+            long validLength = replay(path);
+            if (validLength < Files.size(path)) {
+                // Torn write at the tail of the segment: drop the partial record before appending again
+                log.warn("Truncating partial record at the end of {}", path);
+                try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+                    file.setLength(validLength);
+                }
+            }
+        }
+        this.segmentOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path.toFile(), true)));
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (segmentOut != null) {
+            segmentOut.close();
+            segmentOut = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //true once at least one sync has stored builds for this job
+    public synchronized boolean hasJob(String jobName) {
+        return highestBuildNumber.containsKey(jobName);
+    }
+
+    public synchronized int getHighestBuildNumber(String jobName) {
+        return highestBuildNumber.getOrDefault(jobName, 0);
+    }
+
+    //start of the newest stored build of a job, builds above the high-water mark started at or after it
+    public synchronized long getHighestBuildStart(String jobName) {
+        return highestBuildStart.getOrDefault(jobName, Long.MIN_VALUE);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //append finished builds of one job, builds at or below the highest stored number are ignored
+    public synchronized void append(String jobName, List<JenkinsJobBuild> builds) throws IOException {
+        int highest = highestBuildNumber.getOrDefault(jobName, 0);
+        List<JenkinsJobBuild> appended = new ArrayList<>();
+        for (JenkinsJobBuild jobBuild : builds) {
+            if (jobBuild.getBuildNumber() <= highest) {
+                continue;
+            }
+            writeRecord(jobName, jobBuild);
+            remember(jobName, jobBuild);
+            appended.add(jobBuild);
+            highest = jobBuild.getBuildNumber();
+        }
+        segmentOut.flush();
+        intervalIndex.addAll(appended);
+        if (!appended.isEmpty()) {
+            for (Consumer<List<JenkinsJobBuild>> listener : listeners) {
+                listener.accept(appended);
+            }
+        }
+        // Mark the job as synced even when it has no builds yet
+        highestBuildNumber.putIfAbsent(jobName, 0);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //builds of one job inside ]startTime, endTime[, either started in the window or running at some point in it
+    public List<JenkinsJobBuild> findByTimeRange(String jobName, LocalDateTime startTime, LocalDateTime endTime, TimeRangeMatch match) {
+        return match == TimeRangeMatch.OVERLAPPED
+                ? intervalIndex.jobOverlapping(jobName, startTime, endTime)
+                : intervalIndex.jobStartedIn(jobName, startTime, endTime);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //get every stored build now, then each newly appended batch
+    public synchronized void addListener(Consumer<List<JenkinsJobBuild>> listener) {
+        List<JenkinsJobBuild> stored = intervalIndex.allBuilds();
+        if (!stored.isEmpty()) {
+            listener.accept(stored);
+        }
+        listeners.add(listener);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    private void writeRecord(String jobName, JenkinsJobBuild jobBuild) throws IOException {
+        segmentOut.writeByte(RECORD_VERSION);
+        segmentOut.writeUTF(jobName);
+        segmentOut.writeInt(jobBuild.getBuildNumber());
+        segmentOut.writeLong(jobBuild.getStartMillis());
+        segmentOut.writeLong(jobBuild.getDurationMillis());
+        segmentOut.writeLong(jobBuild.getQueuingMillis());
+        segmentOut.writeUTF(jobBuild.getJobStatus() == null ? "" : jobBuild.getJobStatus());
+        segmentOut.writeUTF(jobBuild.getBuiltOn() == null ? "" : jobBuild.getBuiltOn());
+    }
+
+    //replays every complete record and returns the byte length they cover
+    private long replay(Path path) throws IOException {
+        long validLength = 0;
+        List<JenkinsJobBuild> replayed = new ArrayList<>();
+        try (CountingInputStream counter = new CountingInputStream(new BufferedInputStream(Files.newInputStream(path)));
+             DataInputStream in = new DataInputStream(counter)) {
+            while (true) {
+                int version;
+                try {
+                    version = in.readByte();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (version != RECORD_VERSION) {
+                    throw new IOException("Unsupported build history record version " + version + " in " + path);
+                }
+                try {
+                    String jobName = in.readUTF();
+                    int buildNumber = in.readInt();
+                    long timestamp = in.readLong();
+                    long duration = in.readLong();
+                    long queuingDuration = in.readLong();
+                    String result = in.readUTF();
+                    String builtOn = in.readUTF();
+                    JenkinsJobBuild jobBuild = JenkinsResponseParser.toJobBuild(jobName, buildNumber, timestamp, duration, queuingDuration, result, builtOn);
+                    remember(jobName, jobBuild);
+                    replayed.add(jobBuild);
+                    validLength = counter.count;
+                } catch (EOFException e) {
+                    break;
+                }
+            }
+        }
+        intervalIndex.addAll(replayed);
+        return validLength;
+    }
+
+    private void remember(String jobName, JenkinsJobBuild jobBuild) {
+        highestBuildNumber.merge(jobName, jobBuild.getBuildNumber(), Math::max);
+        highestBuildStart.merge(jobName, jobBuild.getStartMillis(), Math::max);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.project.Service;
+import com.example.project.Model.JenkinsJobBuild;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+//Background job keeping the local build history up to date.
+//Runs with a dedicated Jenkins account since there is no user session in the background.
+@Service
+@ConditionalOnProperty(name = "jenkins.store.enabled", havingValue = "true")
+public class BuildHistorySync {
+
+    private static final Logger log = LoggerFactory.getLogger(BuildHistorySync.class);
+
+    private final JenkinsService jenkinsService;
+    private final BuildHistoryStore buildHistoryStore;
+    private final JobCatalog jobCatalog;
+
+    @Value("${jenkins.store.username}")
+    private String username;
+
+    @Value("${jenkins.store.token}")
+    private String token;
+
+    @Autowired
+    public BuildHistorySync(JenkinsService jenkinsService, BuildHistoryStore buildHistoryStore, JobCatalog jobCatalog) {
+        this.jenkinsService = jenkinsService;
+        this.buildHistoryStore = buildHistoryStore;
+        this.jobCatalog = jobCatalog;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //pull only the builds newer than the highest build number already stored for each job
+    @Scheduled(initialDelayString = "${jenkins.store.sync-initial-delay-ms:0}", fixedDelayString = "${jenkins.store.sync-interval-ms:60000}")
+    public void sync() {
+        HttpHeaders headers = jenkinsService.buildAuthHeaders(username, token);
+        List<String> jobNames;
+        try {
+            jobNames = jobCatalog.getJobPaths(headers);
+        } catch (Exception e) {
+            log.warn("Build history sync could not list jobs: {}", e.getMessage());
+            return;
+        }
+
+        int stored = 0;
+        for (String jobName : jobNames) {
+            try {
+                int highest = buildHistoryStore.getHighestBuildNumber(jobName);
+                List<JenkinsJobBuild> newBuilds = jenkinsService.getFinishedBuildsAfter(headers, jobName, highest);
+                buildHistoryStore.append(jobName, newBuilds);
+                stored += newBuilds.size();
+            } catch (Exception e) {
+                // One failing job must not stop the others, it is retried on the next run
+                log.warn("Build history sync of {} failed: {}", jobName, e.getMessage());
+            }
+        }
+        if (stored > 0) {
+            log.info("Build history sync stored {} new builds", stored);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.project.Service;
+import com.example.project.Model.BuildColumns;
+import com.example.project.Model.JenkinsJobBuild;
+import com.example.project.Model.NameTable;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+//In-memory interval index over builds, one interval list per job (node filters apply to each build's own builtOn).
+//Each build is the interval [start, start + duration]. The lists are immutable columnar snapshots sorted by start
+//with a max-end segment tree on top, so readers never lock and writers swap in a merged snapshot.
+//Memory: 40 bytes of columns plus 32 of segment tree (4 longs) per build, about 72 bytes;
+//a merge holds the old and the new snapshot of a list until the swap.
+public class BuildIntervalIndex {
+
+    private final Map<String, IntervalList> byJob = new ConcurrentHashMap<>();
+    private final NameTable names = new NameTable();
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //add a batch of builds, every touched list is rebuilt once per batch
+    public synchronized void addAll(Collection<JenkinsJobBuild> builds) {
+        Map<String, List<JenkinsJobBuild>> jobBatches = new HashMap<>();
+        for (JenkinsJobBuild jobBuild : builds) {
+            jobBatches.computeIfAbsent(jobBuild.getJobName(), k -> new ArrayList<>()).add(jobBuild);
+        }
+        jobBatches.forEach((jobName, batch) -> byJob.put(jobName, IntervalList.merge(byJob.get(jobName), names, batch)));
+    }
+
+    public boolean hasJob(String jobName) {
+        return byJob.containsKey(jobName);
+    }
+
+    //every indexed build, job by job
+    public List<JenkinsJobBuild> allBuilds() {
+        List<JenkinsJobBuild> builds = new ArrayList<>();
+        for (IntervalList list : byJob.values()) {
+            list.columns.addTo(builds);
+        }
+        return builds;
+    }
+
+    public int size() {
+        int size = 0;
+        for (IntervalList list : byJob.values()) {
+            size += list.columns.size();
+        }
+        return size;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //builds of a job that started inside ]startTime, endTime[
+    public List<JenkinsJobBuild> jobStartedIn(String jobName, LocalDateTime startTime, LocalDateTime endTime) {
+        IntervalList list = byJob.get(jobName);
+        return list == null ? new ArrayList<>() : list.startedIn(toMillis(startTime), toMillis(endTime));
+    }
+
+    //builds of a job running at some point inside ]startTime, endTime[
+    public List<JenkinsJobBuild> jobOverlapping(String jobName, LocalDateTime startTime, LocalDateTime endTime) {
+        IntervalList list = byJob.get(jobName);
+        return list == null ? new ArrayList<>() : list.overlapping(toMillis(startTime), toMillis(endTime));
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    static final class IntervalList {
+        final BuildColumns columns;
+        //maxEnd[node] covers a range of the sorted rows, node 1 is the root
+        final long[] maxEnd;
+
+        private IntervalList(BuildColumns columns) {
+            this.columns = columns;
+            this.maxEnd = new long[Math.max(1, 4 * columns.size())];
+            if (columns.size() > 0) {
+                buildTree(1, 0, columns.size() - 1);
+            }
+        }
+
+        static IntervalList merge(IntervalList existing, NameTable names, List<JenkinsJobBuild> batch) {
+            BuildColumns added = BuildColumns.of(names, batch);
+            return new IntervalList(existing == null ? added : existing.columns.merge(added));
+        }
+
+        private long buildTree(int node, int lo, int hi) {
+            if (lo == hi) {
+                return maxEnd[node] = columns.getEnd(lo);
+            }
+            int mid = (lo + hi) >>> 1;
+            return maxEnd[node] = Math.max(buildTree(2 * node, lo, mid), buildTree(2 * node + 1, mid + 1, hi));
+        }
+
+        List<JenkinsJobBuild> startedIn(long from, long to) {
+            int lo = columns.firstStartAfter(from, true);
+            int hi = columns.firstStartAfter(to, false);
+            List<JenkinsJobBuild> result = new ArrayList<>(Math.max(0, hi - lo));
+            for (int i = lo; i < hi; i++) {
+                result.add(columns.toJobBuild(i));
+            }
+            return result;
+        }
+
+        List<JenkinsJobBuild> overlapping(long from, long to) {
+            List<JenkinsJobBuild> result = new ArrayList<>();
+            // Only builds starting before the window ends can overlap it, among those the tree finds the ones ending after it starts
+            int hi = columns.firstStartAfter(to, false);
+            if (hi > 0) {
+                collectEndingAfter(1, 0, columns.size() - 1, hi - 1, from, result);
+            }
+            return result;
+        }
+
+        private void collectEndingAfter(int node, int lo, int hi, int limit, long from, List<JenkinsJobBuild> result) {
+            if (lo > limit || maxEnd[node] <= from) {
+                return;
+            }
+            if (lo == hi) {
+                result.add(columns.toJobBuild(lo));
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            collectEndingAfter(2 * node, lo, mid, limit, from, result);
+            collectEndingAfter(2 * node + 1, mid + 1, hi, limit, from, result);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.project.Service;
+import com.example.project.Model.DurationHistogram;
+import com.example.project.Model.JenkinsJobBuild;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+//Duration, queuing time, throughput and failure statistics per job, per node and per job+node,
+//kept in fixed time buckets that are updated as the build history store ingests builds.
+//A query merges the buckets of the window, it never goes back to the raw builds,
+//so windows are resolved at bucket granularity (buckets partly inside the window are counted whole).
+@Service
+public class BuildStatisticsService {
+
+    private final BuildHistoryStore buildHistoryStore;
+
+    @Value("${jenkins.stats.bucket-ms:3600000}")
+    private long bucketMillis;
+
+    //dimension ("*", "job:<name>", "node:<builtOn>" or "job:<name>|node:<builtOn>") -> bucket start -> bucket
+    private final Map<String, ConcurrentNavigableMap<Long, Bucket>> buckets = new ConcurrentHashMap<>();
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    static final class Bucket {
+        final DurationHistogram durations = new DurationHistogram();
+        final DurationHistogram queuingDurations = new DurationHistogram();
+        final Map<String, Long> results = new TreeMap<>();
+        long count;
+
+        synchronized void record(long duration, long queuingDuration, String result) {
+            count++;
+            durations.record(duration);
+            if (queuingDuration >= 0) {
+                queuingDurations.record(queuingDuration);
+            }
+            results.merge(result == null || result.isEmpty() ? "UNKNOWN" : result, 1L, Long::sum);
+        }
+
+        synchronized void mergeInto(Bucket total) {
+            total.count += count;
+            total.durations.merge(durations);
+            total.queuingDurations.merge(queuingDurations);
+            results.forEach((result, n) -> total.results.merge(result, n, Long::sum));
+        }
+    }
+
+    @Autowired
+    public BuildStatisticsService(BuildHistoryStore buildHistoryStore) {
+        this.buildHistoryStore = buildHistoryStore;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        if (buildHistoryStore.isEnabled()) {
+            buildHistoryStore.addListener(this::ingest);
+        }
+    }
+
+    //statistics are fed by the build history store, without it there is nothing to answer from
+    public boolean isEnabled() {
+        return buildHistoryStore.isEnabled();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    public void ingest(List<JenkinsJobBuild> builds) {
+        for (JenkinsJobBuild jobBuild : builds) {
+            long bucketStart = Math.floorDiv(jobBuild.getStartMillis(), bucketMillis) * bucketMillis;
+            String builtOn = jobBuild.getBuiltOn() == null ? "" : jobBuild.getBuiltOn();
+
+            for (String dimension : List.of("*", "job:" + jobBuild.getJobName(), "node:" + builtOn,
+                    "job:" + jobBuild.getJobName() + "|node:" + builtOn)) {
+                buckets.computeIfAbsent(dimension, k -> new ConcurrentSkipListMap<>())
+                        .computeIfAbsent(bucketStart, k -> new Bucket())
+                        .record(jobBuild.getDurationMillis(), jobBuild.getQueuingMillis(), jobBuild.getJobStatus());
+            }
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //p50/p95/p99 (or the requested percentiles) of build duration and queuing time
+    public Map<String, Object> getPercentiles(String jobName, String builtOn, LocalDateTime startTime, LocalDateTime endTime, double[] percentiles) {
+        Bucket total = merged(jobName, builtOn, startTime, endTime);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("count", total.count);
+        response.put("duration", summary(total.durations, percentiles));
+        response.put("queuingDuration", summary(total.queuingDurations, percentiles));
+        return response;
+    }
+
+    //builds per hour over the window, with the per-bucket counts
+    public Map<String, Object> getThroughput(String jobName, String builtOn, LocalDateTime startTime, LocalDateTime endTime) {
+        List<Map<String, Object>> series = new ArrayList<>();
+        long count = 0;
+        for (Map.Entry<Long, Bucket> entry : window(dimension(jobName, builtOn), startTime, endTime).entrySet()) {
+            long bucketCount;
+            synchronized (entry.getValue()) {
+                bucketCount = entry.getValue().count;
+            }
+            count += bucketCount;
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("bucketStart", String.valueOf(LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.getKey()), ZoneId.systemDefault())));
+            point.put("count", bucketCount);
+            series.add(point);
+        }
+        double hours = Math.max(1, Duration.between(startTime, endTime).toMillis()) / 3_600_000.0;
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("count", count);
+        response.put("buildsPerHour", count / hours);
+        response.put("bucketMillis", bucketMillis);
+        response.put("series", series);
+        return response;
+    }
+
+    //share of FAILURE builds, with the count of every result
+    public Map<String, Object> getFailureRate(String jobName, String builtOn, LocalDateTime startTime, LocalDateTime endTime) {
+        Bucket total = merged(jobName, builtOn, startTime, endTime);
+        long failures = total.results.getOrDefault("FAILURE", 0L);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("count", total.count);
+        response.put("failures", failures);
+        response.put("failureRate", total.count == 0 ? 0.0 : (double) failures / total.count);
+        response.put("results", total.results);
+        return response;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    private static String dimension(String jobName, String builtOn) {
+        boolean byJob = jobName != null && !jobName.isEmpty();
+        boolean byNode = builtOn != null;
+        if (byJob && byNode) {
+            return "job:" + jobName + "|node:" + builtOn;
+        }
+        if (byJob) {
+            return "job:" + jobName;
+        }
+        return byNode ? "node:" + builtOn : "*";
+    }
+
+    private Map<Long, Bucket> window(String dimension, LocalDateTime startTime, LocalDateTime endTime) {
+        ConcurrentNavigableMap<Long, Bucket> series = buckets.get(dimension);
+        if (series == null) {
+            return Collections.emptyMap();
+        }
+        long from = Math.floorDiv(startTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), bucketMillis) * bucketMillis;
+        long to = endTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return series.subMap(from, true, to, false);
+    }
+
+    private Bucket merged(String jobName, String builtOn, LocalDateTime startTime, LocalDateTime endTime) {
+        Bucket total = new Bucket();
+        for (Bucket bucket : window(dimension(jobName, builtOn), startTime, endTime).values()) {
+            bucket.mergeInto(total);
+        }
+        return total;
+    }
+
+    private static Map<String, Object> summary(DurationHistogram histogram, double[] percentiles) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (double percentile : percentiles) {
+            String key = "p" + (percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile));
+            summary.put(key, histogram.getValueAtPercentile(percentile));
+        }
+        summary.put("mean", Math.round(histogram.getMean()));
+        summary.put("min", histogram.getMin());
+        summary.put("max", histogram.getMax());
+        return summary;
+    }
+}
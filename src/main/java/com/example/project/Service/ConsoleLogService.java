@@ -0,0 +1,393 @@
+package com.example.project.Service;
+import com.example.project.HttpClientConfig.JenkinsUnavailableException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+//Console output of a build, read from logText/progressiveText?start=<byte offset> and never held whole in memory:
+//the log is either passed through to the caller or scanned line by line for a regex.
+//Jenkins answers X-Text-Size (the offset to resume from) and X-More-Data while the build is running, which is how a log is tailed.
+//Logs go through the pooled client directly: a log left unread is aborted rather than drained to the end as the RestTemplate
+//would, and transfers this long stay out of the concurrency limit and circuit breaker, capped by jenkins.logs.max-streams instead.
+@Service
+public class ConsoleLogService {
+
+    @Value("${jenkins.url}")
+    private String jenkinsUrl;
+
+    //console logs read from Jenkins at the same time, others are refused
+    @Value("${jenkins.logs.max-streams:8}")
+    private int maxStreams;
+
+    //longer lines are matched on their beginning only
+    @Value("${jenkins.logs.max-line-bytes:65536}")
+    private int maxLineBytes;
+
+    //regex matching time one search may spend over all its lines; a pattern going over it (catastrophic backtracking) is refused
+    @Value("${jenkins.logs.match-budget-ms:2000}")
+    private long matchBudgetMillis;
+
+    private final CloseableHttpClient httpClient;
+    private final MeterRegistry meterRegistry;
+    private Semaphore streams;
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //an open console log; closing it before the end aborts the Jenkins response
+    public final class ConsoleLog implements Closeable {
+        private final HttpGet request;
+        private final ClassicHttpResponse response;
+        private final long begin;
+        private final InputStream body;
+        private final long textSize;
+        private final boolean moreData;
+        private long bytes;
+        private boolean finished;
+        private boolean closed;
+
+        ConsoleLog(HttpGet request, ClassicHttpResponse response, long begin) throws IOException {
+            this.request = request;
+            this.response = response;
+            this.begin = begin;
+            HttpEntity entity = response.getEntity();
+            this.body = new FilterInputStream(entity == null ? InputStream.nullInputStream() : entity.getContent()) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    counted(b < 0 ? -1 : 1);
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    return counted(super.read(buffer, offset, length));
+                }
+            };
+            Header size = response.getFirstHeader("X-Text-Size");
+            this.textSize = size == null ? -1 : Long.parseLong(size.getValue());
+            Header more = response.getFirstHeader("X-More-Data");
+            this.moreData = more != null && "true".equals(more.getValue());
+        }
+
+        private int counted(int read) {
+            if (read < 0) {
+                finished = true;
+            } else {
+                bytes += read;
+            }
+            return read;
+        }
+
+        //offset to resume from, -1 if Jenkins did not say
+        public long getTextSize() {
+            return textSize;
+        }
+
+        //true while the build is still writing to its log
+        public boolean isMoreData() {
+            return moreData;
+        }
+
+        public InputStream getBody() {
+            return body;
+        }
+
+        //also called from another thread when the request serving the log ends (timeout, client gone)
+        @Override
+        public synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (!finished) {
+                request.cancel(); // drop the connection instead of reading the rest of the log
+            }
+            try {
+                response.close();
+            } catch (IOException e) {
+                // the connection is discarded either way
+            }
+            streams.release();
+            record(String.valueOf(response.getCode()), begin, bytes);
+        }
+    }
+
+    //a matching line and the byte offset it starts at
+    public static final class LineMatch {
+        private final long offset;
+        private final String line;
+
+        LineMatch(long offset, String line) {
+            this.offset = offset;
+            this.line = line;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public String getLine() {
+            return line;
+        }
+    }
+
+    //matches of a search, where to resume it (nextStart, skipping the first nextSkip matches) and whether it stopped at maxMatches
+    public static final class SearchResult {
+        private final List<LineMatch> matches;
+        private final long nextStart;
+        private final int nextSkip;
+        private final boolean moreData;
+        private final boolean truncated;
+
+        SearchResult(List<LineMatch> matches, long nextStart, int nextSkip, boolean moreData, boolean truncated) {
+            this.matches = matches;
+            this.nextStart = nextStart;
+            this.nextSkip = nextSkip;
+            this.moreData = moreData;
+            this.truncated = truncated;
+        }
+
+        public List<LineMatch> getMatches() {
+            return matches;
+        }
+
+        public long getNextStart() {
+            return nextStart;
+        }
+
+        public int getNextSkip() {
+            return nextSkip;
+        }
+
+        public boolean isMoreData() {
+            return moreData;
+        }
+
+        public boolean isTruncated() {
+            return truncated;
+        }
+    }
+
+    //the pattern used up the match budget of the search
+    public static final class MatchTimeoutException extends RuntimeException {
+        MatchTimeoutException() {
+            super("Pattern took too long to match");
+        }
+    }
+
+    @Autowired
+    public ConsoleLogService(CloseableHttpClient jenkinsHttpClient, MeterRegistry meterRegistry) {
+        this.httpClient = jenkinsHttpClient;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void createStreamLimit() {
+        this.streams = new Semaphore(maxStreams);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //the log of a build from a byte offset, null if Jenkins has no such build; the caller closes it
+    public ConsoleLog open(HttpHeaders headers, String jobPath, int buildNumber, long start) throws IOException {
+        if (!streams.tryAcquire()) {
+            throw new JenkinsUnavailableException("Too many console logs being read (limit " + maxStreams + ")");
+        }
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .pathSegment(JenkinsService.jobSegments(jobPath, String.valueOf(buildNumber), "logText", "progressiveText"))
+                .queryParam("start", start)
+                .build();
+
+        HttpGet request = new HttpGet(url.toUri());
+        headers.forEach((name, values) -> values.forEach(value -> request.addHeader(name, value)));
+        long begin = System.nanoTime();
+        ClassicHttpResponse response;
+        try {
+            response = httpClient.executeOpen(null, request, null);
+        } catch (IOException | RuntimeException e) {
+            streams.release();
+            record("IO_ERROR", begin, -1);
+            meterRegistry.counter("jenkins.client.errors", "endpoint", "console-log", "error", e.getClass().getSimpleName()).increment();
+            throw e;
+        }
+
+        ConsoleLog log = new ConsoleLog(request, response, begin);
+        int status = response.getCode();
+        if (status == 200) {
+            return log;
+        }
+        log.close();
+        meterRegistry.counter("jenkins.client.errors", "endpoint", "console-log", "error", String.valueOf(status)).increment();
+        if (status == 404) {
+            return null;
+        }
+        if (status >= 500 || status == 429) {
+            throw new JenkinsUnavailableException("Request to " + url + " failed. Status code: " + status);
+        }
+        throw new RestClientException("Request to " + url + " failed. Status code: " + status);
+    }
+
+    //same meters as the requests of the RestTemplate (JenkinsMetricsInterceptor)
+    private void record(String status, long begin, long bytes) {
+        Timer.builder("jenkins.client.requests")
+                .description("Jenkins requests, until the response body is closed")
+                .tags("endpoint", "console-log", "status", status)
+                .register(meterRegistry)
+                .record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+        if (bytes >= 0) {
+            DistributionSummary.builder("jenkins.client.response.size")
+                    .baseUnit("bytes")
+                    .tags("endpoint", "console-log")
+                    .register(meterRegistry)
+                    .record(bytes);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //lines of the log from a byte offset matching the pattern, leaving out the first skip of them, at most maxMatches;
+    //null if Jenkins has no such build
+    public SearchResult search(HttpHeaders headers, String jobPath, int buildNumber, long start, int skip, Pattern pattern, int maxMatches) throws IOException {
+        try (ConsoleLog log = open(headers, jobPath, buildNumber, start)) {
+            if (log == null) {
+                return null;
+            }
+            List<LineMatch> matches = new ArrayList<>();
+            // While the build runs its last line may be incomplete, it is searched on the next call
+            long scanned = scan(log.getBody(), start, pattern, skip + maxMatches, maxLineBytes, log.isMoreData(),
+                    TimeUnit.MILLISECONDS.toNanos(matchBudgetMillis), matches);
+            boolean truncated = matches.size() >= skip + maxMatches;
+            List<LineMatch> returned = new ArrayList<>(matches.subList(Math.min(skip, matches.size()), matches.size()));
+            if (truncated) {
+                // The offset reached counts the bytes sent, not Jenkins's own: the same chunk is read again, skipping what was returned
+                return new SearchResult(returned, start, skip + returned.size(), log.isMoreData(), true);
+            }
+            long nextStart = log.isMoreData() || log.getTextSize() < 0 ? scanned : log.getTextSize();
+            return new SearchResult(returned, nextStart, 0, log.isMoreData(), false);
+        }
+    }
+
+    //Adds the lines matching the pattern to matches, with the offset they start at (start + bytes before them).
+    //Stops after maxMatches and returns the offset right after the last line read; with partialLastLine an unterminated
+    //last line is left out and the returned offset is its start. Throws MatchTimeoutException once matching took matchBudgetNanos.
+    //Offsets count the bytes Jenkins sent: console notes it hides make them drift from its own offsets, X-Text-Size does not.
+    static long scan(InputStream in, long start, Pattern pattern, int maxMatches, int maxLineBytes, boolean partialLastLine,
+                     long matchBudgetNanos, List<LineMatch> matches) throws IOException {
+        MatchBudget budget = new MatchBudget(matchBudgetNanos);
+        byte[] buffer = new byte[64 * 1024];
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        long position = start;   // offset of the next byte read
+        long lineStart = start;
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+            int from = 0;
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] != '\n') {
+                    continue;
+                }
+                appendBounded(line, buffer, from, i - from, maxLineBytes);
+                if (matchLine(line, lineStart, pattern, budget, matches) && matches.size() >= maxMatches) {
+                    return position + i + 1;
+                }
+                line.reset();
+                from = i + 1;
+                lineStart = position + i + 1;
+            }
+            appendBounded(line, buffer, from, read - from, maxLineBytes);
+            position += read;
+        }
+        if (position > lineStart) {
+            if (partialLastLine) {
+                return lineStart;
+            }
+            matchLine(line, lineStart, pattern, budget, matches);
+        }
+        return position;
+    }
+
+    private static void appendBounded(ByteArrayOutputStream line, byte[] buffer, int from, int length, int maxLineBytes) {
+        int room = maxLineBytes - line.size();
+        if (room > 0) {
+            line.write(buffer, from, Math.min(length, room));
+        }
+    }
+
+    private static boolean matchLine(ByteArrayOutputStream line, long lineStart, Pattern pattern, MatchBudget budget, List<LineMatch> matches) {
+        String text = line.toString(StandardCharsets.UTF_8);
+        if (text.endsWith("\r")) {
+            text = text.substring(0, text.length() - 1);
+        }
+        long begin = System.nanoTime();
+        boolean found = pattern.matcher(new DeadlineCharSequence(text, begin + budget.leftNanos)).find();
+        budget.leftNanos -= System.nanoTime() - begin;
+        if (!found) {
+            return false;
+        }
+        matches.add(new LineMatch(lineStart, text));
+        return true;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    private static final class MatchBudget {
+        long leftNanos;
+
+        MatchBudget(long leftNanos) {
+            this.leftNanos = leftNanos;
+        }
+    }
+
+    //line handed to the regex engine, which reads it through charAt: the clock is checked every few hundred reads,
+    //so a match that backtracks without end is stopped at the deadline
+    private static final class DeadlineCharSequence implements CharSequence {
+        private final CharSequence text;
+        private final long deadline;
+        private int reads;
+
+        DeadlineCharSequence(CharSequence text, long deadline) {
+            this.text = text;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if ((++reads & 0xFF) == 0 && System.nanoTime() > deadline) {
+                throw new MatchTimeoutException();
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new DeadlineCharSequence(text.subSequence(start, end), deadline);
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.project.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+//Values kept per credential identity (the job and node catalogs): at most maxEntries, the least recently used
+//going first, and an entry nobody asked for within idleMillis is dropped along with the credentials its refresh would use.
+//Refreshes only replace entries still present, so an evicted identity is not brought back in the background.
+public class IdentityCache<V> {
+
+    private final int maxEntries;
+    private final long idleMillis;
+    private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static final class Entry<V> {
+        V value;
+        long lastAccess;
+
+        Entry(V value, long lastAccess) {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    public IdentityCache(int maxEntries, long idleMillis) {
+        this.maxEntries = maxEntries;
+        this.idleMillis = idleMillis;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //the value of an identity, null when there is none or it went idle
+    public synchronized V get(String identity) {
+        long now = System.currentTimeMillis();
+        Entry<V> entry = entries.get(identity);
+        if (entry == null) {
+            return null;
+        }
+        if (now - entry.lastAccess > idleMillis) {
+            entries.remove(identity);
+            return null;
+        }
+        entry.lastAccess = now;
+        return entry.value;
+    }
+
+    //stores the value of a caller's identity, evicting idle entries and then the least recently used over the cap
+    public synchronized void put(String identity, V value) {
+        long now = System.currentTimeMillis();
+        entries.put(identity, new Entry<>(value, now));
+        entries.values().removeIf(entry -> now - entry.lastAccess > idleMillis);
+        Iterator<String> leastRecentlyUsed = entries.keySet().iterator();
+        while (entries.size() > maxEntries) {
+            leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    //stores a refreshed value only if the identity is still cached, keeping its last access
+    public synchronized boolean replace(String identity, V value) {
+        Entry<V> entry = entries.get(identity);
+        if (entry == null) {
+            return false;
+        }
+        entry.value = value;
+        return true;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
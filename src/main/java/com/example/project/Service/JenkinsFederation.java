@@ -0,0 +1,388 @@
+package com.example.project.Service;
+import com.example.project.HttpClientConfig.HttpClientConfig;
+import com.example.project.Model.JenkinsJobBuild;
+import com.example.project.Model.JenkinsNode;
+import com.example.project.Model.TimeRangeMatch;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//One view over several Jenkins controllers: jenkins.url plus the ones listed in jenkins.federation.controllers,
+//each with its own credentials, connection pool, concurrency limit and circuit breaker.
+//Controllers are queried in parallel, each one's builds are sorted newest first and the lists are k-way merged.
+//At the deadline a controller still answering contributes what it has so far and is reported as partial.
+//Permissions: jenkins.url is asked with the caller's credentials, every other controller with the service account configured
+//for it (jenkins.federation.<name>.username/token, required), so its rows are what that account can see. The caller's
+//Authorization header is never sent to another host.
+@Service
+public class JenkinsFederation {
+
+    private static final Logger log = LoggerFactory.getLogger(JenkinsFederation.class);
+
+    public static final String COMPLETE = "complete";
+    public static final String PARTIAL = "partial";
+    public static final String TIMEOUT = "timeout";
+    public static final String FAILED = "failed";
+
+    //name the controller at jenkins.url is reported under
+    @Value("${jenkins.federation.name:main}")
+    private String mainName;
+
+    @Value("${jenkins.federation.controllers:}")
+    private String[] controllerNames;
+
+    //requests running at the same time against one controller
+    @Value("${jenkins.federation.parallelism:8}")
+    private int parallelism;
+
+    @Value("${jenkins.federation.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    @Value("${jenkins.builds.overlap-lookback-ms:86400000}")
+    private long overlapLookbackMillis;
+
+    private final JenkinsService jenkinsService;
+    private final HttpClientConfig httpClientConfig;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final List<Member> members = new ArrayList<>();
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    private static final class Member {
+        final String name;
+        final JenkinsService jenkinsService;
+        final HttpHeaders headers; //null for the main controller only: the caller's credentials
+        final CloseableHttpClient httpClient; //null for the main controller, whose client is a bean
+        final ExecutorService executor;
+
+        Member(String name, JenkinsService jenkinsService, HttpHeaders headers, CloseableHttpClient httpClient, ExecutorService executor) {
+            this.name = name;
+            this.jenkinsService = jenkinsService;
+            this.headers = headers;
+            this.httpClient = httpClient;
+            this.executor = executor;
+        }
+    }
+
+    //a build and the controller it ran on
+    public static final class FederatedBuild {
+        private final String controller;
+        private final JenkinsJobBuild build;
+
+        public FederatedBuild(String controller, JenkinsJobBuild build) {
+            this.controller = controller;
+            this.build = build;
+        }
+
+        public String getController() {
+            return controller;
+        }
+
+        public JenkinsJobBuild getBuild() {
+            return build;
+        }
+    }
+
+    //merged builds, newest first, and how each controller answered (complete, partial, timeout or failed)
+    public static final class Result {
+        private final List<FederatedBuild> builds;
+        private final Map<String, String> controllers;
+
+        Result(List<FederatedBuild> builds, Map<String, String> controllers) {
+            this.builds = builds;
+            this.controllers = controllers;
+        }
+
+        public List<FederatedBuild> getBuilds() {
+            return builds;
+        }
+
+        public Map<String, String> getControllers() {
+            return controllers;
+        }
+    }
+
+    //what one request to one controller brought back: the job listing or the builds of one job
+    private static final class Fetch {
+        final int member;
+        final boolean listing;
+        final List<JenkinsJobBuild> builds;
+        final String builtOn;
+        final Exception error;
+
+        Fetch(int member, boolean listing, List<JenkinsJobBuild> builds, String builtOn, Exception error) {
+            this.member = member;
+            this.listing = listing;
+            this.builds = builds;
+            this.builtOn = builtOn;
+            this.error = error;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ListingCall {
+        List<JenkinsJobBuild> call(Member member, HttpHeaders headers) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface JobCall {
+        List<JenkinsJobBuild> call(Member member, HttpHeaders headers, String jobName) throws Exception;
+    }
+
+    @Autowired
+    public JenkinsFederation(JenkinsService jenkinsService, HttpClientConfig httpClientConfig, Environment environment, MeterRegistry meterRegistry) {
+        this.jenkinsService = jenkinsService;
+        this.httpClientConfig = httpClientConfig;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void startMembers() {
+        members.add(new Member(mainName, jenkinsService, null, null, newExecutor(mainName)));
+        for (String name : controllerNames) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            String url = environment.getProperty("jenkins.federation." + name + ".url");
+            if (url == null) {
+                throw new IllegalStateException("jenkins.federation." + name + ".url is not set");
+            }
+            String username = environment.getProperty("jenkins.federation." + name + ".username", "");
+            String token = environment.getProperty("jenkins.federation." + name + ".token", "");
+            if (username.isEmpty() || token.isEmpty()) {
+                // the caller's credentials are for jenkins.url and must not reach another host
+                throw new IllegalStateException("jenkins.federation." + name + ".username and .token are not set");
+            }
+
+            // Cancelling a fetch at the deadline does not interrupt a blocked socket read, so reads give up at the deadline
+            // themselves and the pool threads are free for the next query
+            CloseableHttpClient httpClient = httpClientConfig.createHttpClient(timeoutMillis);
+            JenkinsService controllerService = jenkinsService.forController(url, httpClientConfig.createRestTemplate(httpClient,
+                    httpClientConfig.createConcurrencyLimit(), httpClientConfig.createCircuitBreaker(), meterRegistry));
+            HttpHeaders headers = controllerService.buildAuthHeaders(username, token);
+            members.add(new Member(name, controllerService, headers, httpClient, newExecutor(name)));
+            log.info("Federated Jenkins controller {} at {}", name, url);
+        }
+    }
+
+    @PreDestroy
+    void stopMembers() {
+        for (Member member : members) {
+            member.executor.shutdownNow();
+            if (member.httpClient != null) {
+                member.jenkinsService.stopFanOutExecutor();
+                try {
+                    member.httpClient.close();
+                } catch (IOException e) {
+                    log.warn("Could not close the client of {}: {}", member.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private ExecutorService newExecutor(String name) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "jenkins-federation-" + name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public List<String> getControllerNames() {
+        List<String> names = new ArrayList<>();
+        for (Member member : members) {
+            names.add(member.name);
+        }
+        return names;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //the most recent builds across every controller, from one last-build tree query per controller
+    public Result getLatestBuilds(HttpHeaders callerHeaders, int limit) {
+        return query(callerHeaders, limit, null,
+                (member, headers) -> new ArrayList<>(member.jenkinsService.getLastBuilds(headers).values()), null);
+    }
+
+    //builds of every job of every controller in the window, optionally only those that ran on the node with this display name
+    public Result getJobBuildsByTimeRange(HttpHeaders callerHeaders, LocalDateTime startTime, LocalDateTime endTime, TimeRangeMatch match, String selectedNode) {
+        long from = startTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        // A job whose last build started before this has no build in the window
+        long oldestStart = match == TimeRangeMatch.OVERLAPPED ? from - overlapLookbackMillis : from;
+
+        return query(callerHeaders, Integer.MAX_VALUE, selectedNode, (member, headers) -> {
+            List<JenkinsJobBuild> candidates = new ArrayList<>();
+            for (JenkinsJobBuild lastBuild : member.jenkinsService.getLastBuilds(headers).values()) {
+                if (lastBuild.getStartMillis() >= oldestStart) {
+                    candidates.add(lastBuild);
+                }
+            }
+            return candidates;
+        }, (member, headers, jobName) -> member.jenkinsService.getJobBuildsByTimeRange(headers, startTime, endTime, jobName, match));
+    }
+
+    //node display names differ between controllers, each one maps it to its own builtOn identifier
+    static String toBuiltOn(List<JenkinsNode> nodes, String displayName) {
+        for (JenkinsNode node : nodes) {
+            if (node.getDisplayName().equals(displayName)) {
+                return node.getBuiltOn();
+            }
+        }
+        return displayName;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //Lists every controller in parallel, then (with a jobCall) reads the listed jobs on each controller's own pool.
+    //Results are gathered on the calling thread until everything answered or the deadline passed.
+    private Result query(HttpHeaders callerHeaders, int limit, String selectedNode, ListingCall listing, JobCall jobCall) {
+        // Set before anything is sent: a member read timing out (at timeoutMillis) then never beats the deadline
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        BlockingQueue<Future<Fetch>> done = new LinkedBlockingQueue<>();
+        List<CompletionService<Fetch>> completionServices = new ArrayList<>();
+        List<Future<Fetch>> submitted = new ArrayList<>();
+        List<List<FederatedBuild>> buildsPerMember = new ArrayList<>();
+        List<String> builtOnPerMember = new ArrayList<>();
+        int[] outstandingPerMember = new int[members.size()];
+        String[] statusPerMember = new String[members.size()];
+
+        for (int i = 0; i < members.size(); i++) {
+            Member member = members.get(i);
+            HttpHeaders headers = headersFor(member, callerHeaders);
+            int index = i;
+            CompletionService<Fetch> completionService = new ExecutorCompletionService<>(member.executor, done);
+            completionServices.add(completionService);
+            buildsPerMember.add(new ArrayList<>());
+            builtOnPerMember.add(null);
+            statusPerMember[i] = COMPLETE;
+            outstandingPerMember[i] = 1;
+            submitted.add(completionService.submit(() -> {
+                try {
+                    String builtOn = selectedNode == null ? null : toBuiltOn(member.jenkinsService.getNodes(headers), selectedNode);
+                    return new Fetch(index, true, listing.call(member, headers), builtOn, null);
+                } catch (Exception e) {
+                    return new Fetch(index, true, null, null, e);
+                }
+            }));
+        }
+
+        int outstanding = members.size();
+        try {
+            while (outstanding > 0) {
+                Future<Fetch> future = done.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (future == null) {
+                    break;
+                }
+                outstanding--;
+                Fetch fetch = future.get();
+                Member member = members.get(fetch.member);
+                outstandingPerMember[fetch.member]--;
+
+                if (fetch.error != null) {
+                    log.warn("Federated controller {} failed: {}", member.name, fetch.error.getMessage());
+                    statusPerMember[fetch.member] = fetch.listing ? FAILED : PARTIAL;
+                    continue;
+                }
+                if (!fetch.listing || jobCall == null) {
+                    addBuilds(buildsPerMember.get(fetch.member), member.name, fetch.builds, fetch.listing ? null : builtOnPerMember.get(fetch.member));
+                    continue;
+                }
+                // Listing answered: read each listed job on this controller's pool
+                builtOnPerMember.set(fetch.member, fetch.builtOn);
+                HttpHeaders headers = headersFor(member, callerHeaders);
+                for (JenkinsJobBuild lastBuild : fetch.builds) {
+                    String jobName = lastBuild.getJobName();
+                    int index = fetch.member;
+                    submitted.add(completionServices.get(index).submit(() -> {
+                        try {
+                            return new Fetch(index, false, jobCall.call(member, headers, jobName), null, null);
+                        } catch (Exception e) {
+                            return new Fetch(index, false, null, null, e);
+                        }
+                    }));
+                    outstandingPerMember[index]++;
+                    outstanding++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            for (Future<Fetch> future : submitted) {
+                future.cancel(true);
+            }
+        }
+
+        Map<String, String> controllers = new LinkedHashMap<>();
+        for (int i = 0; i < members.size(); i++) {
+            String status = statusPerMember[i];
+            if (outstandingPerMember[i] > 0 && !FAILED.equals(status)) {
+                // Still answering at the deadline: what arrived is kept
+                status = buildsPerMember.get(i).isEmpty() ? TIMEOUT : PARTIAL;
+            }
+            controllers.put(members.get(i).name, status);
+            meterRegistry.counter("jenkins.federation.results", "controller", members.get(i).name, "status", status).increment();
+            buildsPerMember.get(i).sort(NEWEST_FIRST);
+        }
+        return new Result(mergeNewestFirst(buildsPerMember, limit), controllers);
+    }
+
+    //the caller's credentials only go to the main controller, the others have their own
+    private HttpHeaders headersFor(Member member, HttpHeaders callerHeaders) {
+        return member == members.get(0) ? callerHeaders : member.headers;
+    }
+
+    private static void addBuilds(List<FederatedBuild> builds, String controller, List<JenkinsJobBuild> jobBuilds, String builtOnFilter) {
+        for (JenkinsJobBuild build : jobBuilds) {
+            String builtOn = build.getBuiltOn() == null ? "" : build.getBuiltOn();
+            if (builtOnFilter == null || builtOnFilter.equals(builtOn)) {
+                builds.add(new FederatedBuild(controller, build));
+            }
+        }
+    }
+
+    private static final Comparator<FederatedBuild> NEWEST_FIRST =
+            Comparator.comparingLong((FederatedBuild build) -> build.getBuild().getStartMillis()).reversed();
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //k-way merge of lists each sorted newest first, stopping after limit builds; ties keep the controller order
+    static List<FederatedBuild> mergeNewestFirst(List<List<FederatedBuild>> sortedLists, int limit) {
+        // heap entries are {list, position}
+        PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) -> {
+            int order = NEWEST_FIRST.compare(sortedLists.get(a[0]).get(a[1]), sortedLists.get(b[0]).get(b[1]));
+            return order != 0 ? order : Integer.compare(a[0], b[0]);
+        });
+        for (int i = 0; i < sortedLists.size(); i++) {
+            if (!sortedLists.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+        List<FederatedBuild> merged = new ArrayList<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            int[] head = heads.poll();
+            List<FederatedBuild> list = sortedLists.get(head[0]);
+            merged.add(list.get(head[1]));
+            if (head[1] + 1 < list.size()) {
+                heads.add(new int[]{head[0], head[1] + 1});
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.project.Service;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Raw Jenkins response bodies shared between sessions.
+//Entries are keyed on credential identity plus URL, so a user only ever gets bodies fetched with their own credentials.
+//Each resource type has its own TTL, the cache is bounded in bytes with least-recently-used eviction,
+//and expired entries keep their ETag/Last-Modified so they can be revalidated with a conditional request.
+@Service
+public class JenkinsResponseCache {
+
+    public enum ResourceType {
+        JOBS, NODES, JOB_INFO, LATEST_BUILDS
+    }
+
+    @Value("${jenkins.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jenkins.cache.max-bytes:33554432}")
+    private long maxBytes;
+
+    @Value("${jenkins.cache.ttl-ms.jobs:60000}")
+    private long jobsTtlMillis;
+
+    @Value("${jenkins.cache.ttl-ms.nodes:30000}")
+    private long nodesTtlMillis;
+
+    @Value("${jenkins.cache.ttl-ms.job-info:15000}")
+    private long jobInfoTtlMillis;
+
+    @Value("${jenkins.cache.ttl-ms.latest-builds:5000}")
+    private long latestBuildsTtlMillis;
+
+    //access ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    public static final class Entry {
+        final byte[] body;
+        final String eTag;
+        final String lastModified;
+        volatile long expiresAt;
+
+        Entry(byte[] body, String eTag, String lastModified, long expiresAt) {
+            this.body = body;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.expiresAt = expiresAt;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+
+        //true when Jenkins gave us something to revalidate with
+        public boolean hasValidators() {
+            return eTag != null || lastModified != null;
+        }
+
+        //If-None-Match / If-Modified-Since for a conditional request
+        public void addConditionalHeaders(HttpHeaders requestHeaders) {
+            if (eTag != null) {
+                requestHeaders.set(HttpHeaders.IF_NONE_MATCH, eTag);
+            }
+            if (lastModified != null) {
+                requestHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //cache key: the URL plus a digest of the Authorization header, the credentials themselves are never kept
+    public static String key(String url, HttpHeaders headers) {
+        String authorization = headers == null ? null : headers.getFirst(HttpHeaders.AUTHORIZATION);
+        return credentialIdentity(authorization) + " " + url;
+    }
+
+    public static String credentialIdentity(String authorization) {
+        if (authorization == null) {
+            return "anonymous";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(authorization.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //entry for a key, fresh or not, or null
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    public void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    public void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    //an expired entry answered because Jenkins was unavailable
+    public void recordStale() {
+        staleHits.incrementAndGet();
+    }
+
+    //Jenkins answered 304 Not Modified: the entry is good for another TTL
+    public void revalidated(Entry entry, ResourceType type) {
+        revalidations.incrementAndGet();
+        entry.expiresAt = System.currentTimeMillis() + ttlMillis(type);
+    }
+
+    public synchronized void put(String key, ResourceType type, byte[] body, String eTag, String lastModified) {
+        if (body.length > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(body, eTag, lastModified, System.currentTimeMillis() + ttlMillis(type)));
+        if (previous != null) {
+            totalBytes -= previous.body.length;
+        }
+        totalBytes += body.length;
+
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().body.length;
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public long ttlMillis(ResourceType type) {
+        return switch (type) {
+            case JOBS -> jobsTtlMillis;
+            case NODES -> nodesTtlMillis;
+            case JOB_INFO -> jobInfoTtlMillis;
+            case LATEST_BUILDS -> latestBuildsTtlMillis;
+        };
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    public synchronized Map<String, Object> getStatistics() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("hits", hitCount);
+        statistics.put("misses", missCount);
+        statistics.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        statistics.put("revalidations", revalidations.get());
+        statistics.put("staleHits", staleHits.get());
+        statistics.put("evictions", evictions.get());
+        statistics.put("entries", entries.size());
+        statistics.put("bytes", totalBytes);
+        statistics.put("maxBytes", maxBytes);
+        return statistics;
+    }
+}
@@ -0,0 +1,382 @@
+package com.example.project.Service;
+import com.example.project.Model.BuildNodeIndex;
+import com.example.project.Model.JenkinsJobBuild;
+import com.example.project.Model.JenkinsNode;
+import com.example.project.Model.TimeRangeMatch;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+//Token-level parsing of Jenkins JSON responses straight from the HTTP stream.
+//Only the fields we use are read, everything else is skipped without building a tree.
+public final class JenkinsResponseParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private JenkinsResponseParser() {
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //{"jobs":[{"name":...}, ...]}
+    public static List<String> parseJobNames(InputStream in) throws IOException {
+        List<String> jobNames = new ArrayList<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            startObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("jobs".equals(field) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        String name = readTextField(parser, "name");
+                        if (name != null) {
+                            jobNames.add(name);
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return jobNames;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //{"computer":[{"_class":...,"displayName":...,"numExecutors":...,"idle":...,"offline":...,"executors":[{"idle":...}, ...]}, ...]}
+    //The built-in node is told apart by its class, its builds record an empty builtOn whatever its (localized) display name
+    public static List<JenkinsNode> parseNodes(InputStream in) throws IOException {
+        List<JenkinsNode> nodes = new ArrayList<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            startObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (!"computer".equals(field) || token != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    JenkinsNode node = new JenkinsNode();
+                    boolean builtIn = false;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String nodeField = parser.getCurrentName();
+                        JsonToken nodeToken = parser.nextToken();
+                        switch (nodeField) {
+                            case "_class" -> builtIn = parser.getValueAsString("").endsWith("$MasterComputer");
+                            case "displayName" -> node.setDisplayName(parser.getValueAsString());
+                            case "numExecutors" -> node.setNumExecutors(parser.getValueAsInt());
+                            case "idle" -> node.setIdle(parser.getValueAsBoolean());
+                            case "offline" -> node.setOffline(parser.getValueAsBoolean());
+                            case "executors" -> {
+                                if (nodeToken == JsonToken.START_ARRAY) {
+                                    node.setBusyExecutors(countBusyExecutors(parser));
+                                } else {
+                                    parser.skipChildren();
+                                }
+                            }
+                            default -> parser.skipChildren();
+                        }
+                    }
+                    node.setBuiltOn(builtIn ? "" : node.getDisplayName());
+                    nodes.add(node);
+                }
+            }
+        }
+        return nodes;
+    }
+
+    //executors reporting "idle": false
+    private static int countBusyExecutors(JsonParser parser) throws IOException {
+        int busy = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("idle".equals(field) && !parser.getValueAsBoolean(true)) {
+                    busy++;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return busy;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //{"jobs":[{"name":...,"builds":[{"number":...,"builtOn":...}, ...]}, ...]}
+    public static BuildNodeIndex parseBuildNodeIndex(InputStream in) throws IOException {
+        BuildNodeIndex buildNodeIndex = new BuildNodeIndex();
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            startObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (!"jobs".equals(field) || token != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    String jobName = null;
+                    List<Integer> numbers = new ArrayList<>();
+                    List<String> nodes = new ArrayList<>();
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String jobField = parser.getCurrentName();
+                        JsonToken jobToken = parser.nextToken();
+                        if ("name".equals(jobField)) {
+                            jobName = parser.getValueAsString();
+                        } else if ("builds".equals(jobField) && jobToken == JsonToken.START_ARRAY) {
+                            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                                int number = 0;
+                                String builtOn = BuildNodeIndex.UNKNOWN_NODE;
+                                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                                    String buildField = parser.getCurrentName();
+                                    parser.nextToken();
+                                    if ("number".equals(buildField)) {
+                                        number = parser.getValueAsInt();
+                                    } else if ("builtOn".equals(buildField)) {
+                                        builtOn = parser.getValueAsString();
+                                    } else {
+                                        parser.skipChildren();
+                                    }
+                                }
+                                numbers.add(number);
+                                nodes.add(builtOn);
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    // The job name is not guaranteed to come before its builds
+                    for (int i = 0; i < numbers.size(); i++) {
+                        buildNodeIndex.put(jobName, numbers.get(i), nodes.get(i));
+                    }
+                }
+            }
+        }
+        return buildNodeIndex;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //job document: {"displayName":...,"builds":[{build}, ...]}
+    //builds outside ]from, to[ (epoch millis) are skipped while parsing and never become objects
+    public static List<JenkinsJobBuild> parseBuildsInWindow(InputStream in, long from, long to, TimeRangeMatch match) throws IOException {
+        return parseBuildsInWindow(in, null, from, to, match);
+    }
+
+    //same, the builds are named after the job path ("folder/job") instead of the display name when one is given
+    public static List<JenkinsJobBuild> parseBuildsInWindow(InputStream in, String jobName, long from, long to, TimeRangeMatch match) throws IOException {
+        List<JenkinsJobBuild> jobBuilds = new ArrayList<>();
+        String displayName = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            startObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("displayName".equals(field)) {
+                    displayName = parser.getValueAsString();
+                } else if (("builds".equals(field) || "allBuilds".equals(field)) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        JenkinsJobBuild jobBuild = readBuildInWindow(parser, from, to, match);
+                        if (jobBuild != null) {
+                            jobBuilds.add(jobBuild);
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        for (JenkinsJobBuild jobBuild : jobBuilds) {
+            jobBuild.setJobName(jobName != null ? jobName : displayName);
+        }
+        return jobBuilds;
+    }
+
+    //Same as parseBuildsInWindow for a body arriving in chunks (WebClient), read by Jackson's non-blocking parser as they come:
+    //only the tokens of the build being read are held, so a long build list is never buffered whole
+    static final class BuildsInWindowFeeder {
+
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+        private final String jobName;
+        private final long from;
+        private final long to;
+        private final TimeRangeMatch match;
+        private final List<JenkinsJobBuild> jobBuilds = new ArrayList<>();
+        private String displayName;
+        private String field; // last field name of the job document
+        private int depth;
+        private boolean started;
+        private boolean inBuilds;
+        private TokenBuffer build; // the build being read
+
+        BuildsInWindowFeeder(String jobName, long from, long to, TimeRangeMatch match) throws IOException {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+            this.jobName = jobName;
+            this.from = from;
+            this.to = to;
+            this.match = match;
+        }
+
+        void feed(byte[] chunk) throws IOException {
+            feeder.feedInput(chunk, 0, chunk.length);
+            readAvailable();
+        }
+
+        //the builds inside the window once the whole body was fed
+        List<JenkinsJobBuild> finish() throws IOException {
+            feeder.endOfInput();
+            readAvailable();
+            parser.close();
+            if (!started || depth != 0) {
+                throw new JsonParseException(parser, "Expected a complete JSON object from Jenkins");
+            }
+            for (JenkinsJobBuild jobBuild : jobBuilds) {
+                jobBuild.setJobName(jobName != null ? jobName : displayName);
+            }
+            return jobBuilds;
+        }
+
+        private void readAvailable() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (!started) {
+                    if (token != JsonToken.START_OBJECT) {
+                        throw new JsonParseException(parser, "Expected a JSON object from Jenkins");
+                    }
+                    started = true;
+                }
+                if (build != null) {
+                    build.copyCurrentEvent(parser);
+                }
+                if (token.isStructStart()) {
+                    if (inBuilds && depth == 2 && token == JsonToken.START_OBJECT) {
+                        build = new TokenBuffer(parser);
+                        build.copyCurrentEvent(parser);
+                    } else if (depth == 1 && token == JsonToken.START_ARRAY && ("builds".equals(field) || "allBuilds".equals(field))) {
+                        inBuilds = true;
+                    }
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                    if (build != null && depth == 2) {
+                        readBuild();
+                    } else if (depth == 1) {
+                        inBuilds = false;
+                    }
+                } else if (depth == 1) {
+                    if (token == JsonToken.FIELD_NAME) {
+                        field = parser.getCurrentName();
+                    } else if ("displayName".equals(field)) {
+                        displayName = parser.getValueAsString();
+                    }
+                }
+            }
+        }
+
+        private void readBuild() throws IOException {
+            try (JsonParser buildParser = build.asParser()) {
+                buildParser.nextToken();
+                JenkinsJobBuild jobBuild = readBuildInWindow(buildParser, from, to, match);
+                if (jobBuild != null) {
+                    jobBuilds.add(jobBuild);
+                }
+            }
+            build = null;
+        }
+    }
+
+    //reads one build object, the parser is positioned on its START_OBJECT
+    private static JenkinsJobBuild readBuildInWindow(JsonParser parser, long from, long to, TimeRangeMatch match) throws IOException {
+        int number = 0;
+        long timestamp = 0;
+        long duration = 0;
+        long queuingDuration = -1;
+        String result = "";
+        String builtOn = "";
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "number" -> number = parser.getValueAsInt();
+                case "timestamp" -> timestamp = parser.getValueAsLong();
+                case "duration" -> duration = parser.getValueAsLong();
+                case "result" -> result = token == JsonToken.VALUE_NULL ? "null" : parser.getValueAsString();
+                case "builtOn" -> builtOn = parser.getValueAsString();
+                case "actions" -> {
+                    if (token == JsonToken.START_ARRAY) {
+                        queuingDuration = readQueuingDuration(parser, queuingDuration);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (!match.matches(timestamp, duration, from, to)) {
+            return null;
+        }
+        return toJobBuild(null, number, timestamp, duration, queuingDuration, result, builtOn);
+    }
+
+    //queuingDurationMillis of the first action reporting one (the time-in-queue action)
+    private static long readQueuingDuration(JsonParser parser, long queuingDuration) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("queuingDurationMillis".equals(field) && queuingDuration < 0) {
+                    queuingDuration = parser.getValueAsLong();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return queuingDuration;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //build record, end and execution times are derived from these on demand, queuingDuration < 0 means unknown
+    public static JenkinsJobBuild toJobBuild(String jobName, int buildNumber, long timestamp, long duration, long queuingDuration, String result, String builtOn) {
+        JenkinsJobBuild jobBuild = new JenkinsJobBuild();
+        jobBuild.setJobName(jobName);
+        jobBuild.setBuildNumber(buildNumber);
+        jobBuild.setStartMillis(timestamp);
+        jobBuild.setDurationMillis(duration);
+        jobBuild.setQueuingMillis(queuingDuration);
+        jobBuild.setJobStatus(result);
+        jobBuild.setBuiltOn(builtOn);
+        return jobBuild;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    private static void startObject(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a JSON object from Jenkins");
+        }
+    }
+
+    //reads one object and returns the value of a single text field, the parser is positioned on its START_OBJECT
+    private static String readTextField(JsonParser parser, String wanted) throws IOException {
+        String value = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (wanted.equals(field)) {
+                value = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return value;
+    }
+}
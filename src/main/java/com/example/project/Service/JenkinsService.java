@@ -1,68 +1,187 @@
 package com.example.project.Service;
+import com.example.project.HttpClientConfig.JenkinsUnavailableException;
+import com.example.project.Model.BuildNodeIndex;
 import com.example.project.Model.JenkinsJobBuild;
+import com.example.project.Model.JenkinsNode;
+import com.example.project.Model.TimeRangeMatch;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
-import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class JenkinsService {
 
+    private static final Logger log = LoggerFactory.getLogger(JenkinsService.class);
+
     @Value("${jenkins.url}")
     private String jenkinsUrl;
+
+    //maximum number of per-job Jenkins requests running at the same time
+    @Value("${jenkins.fanout.parallelism:16}")
+    private int fanOutParallelism;
+
+    //overall deadline for a fan-out, jobs still pending after it are left out of the result
+    @Value("${jenkins.fanout.timeout-ms:10000}")
+    private long fanOutTimeoutMillis;
+
+    //"tree" answers the latest build with one projected query, "per-job" does one lastBuild request per job
+    @Value("${jenkins.latest-build.mode:tree}")
+    private String latestBuildMode;
+
+    //"range" reads only the slice of allBuilds inside the window, "full" downloads the job at depth=2
+    @Value("${jenkins.builds.fetch-mode:range}")
+    private String buildsFetchMode;
+
+    //how far before the window a build may have started and still overlap it
+    @Value("${jenkins.builds.overlap-lookback-ms:86400000}")
+    private long overlapLookbackMillis;
+
+    //folder levels read by one nested jobs[...] projection
+    @Value("${jenkins.catalog.levels-per-request:3}")
+    private int levelsPerRequest;
+
+    //shared, ObjectMapper is thread-safe once configured
+    private final ObjectMapper objectMapper = new ObjectMapper();
     private final RestTemplate restTemplate;
-    public JenkinsService() {
+    private final BuildHistoryStore buildHistoryStore;
+    private final JenkinsResponseCache responseCache;
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final VerifiedCredentialCache verifiedCredentialCache;
+    private final MeterRegistry meterRegistry;
+    //the job catalog is built on this service, it is looked up when first needed
+    private final ObjectProvider<JobCatalog> jobCatalog;
+    private ExecutorService fanOutExecutor;
+
+    @Autowired
+    public JenkinsService(RestTemplate jenkinsRestTemplate, BuildHistoryStore buildHistoryStore, JenkinsResponseCache responseCache,
+                          VerifiedCredentialCache verifiedCredentialCache, MeterRegistry meterRegistry, ObjectProvider<JobCatalog> jobCatalog) {
         //System.out.println("start JenkinsService");
 
-        this.restTemplate = new RestTemplate();
+        this.restTemplate = jenkinsRestTemplate;
+        this.jobCatalog = jobCatalog;
+        this.buildHistoryStore = buildHistoryStore;
+        this.responseCache = responseCache;
+        this.verifiedCredentialCache = verifiedCredentialCache;
+        this.meterRegistry = meterRegistry;
+
+        FunctionCounter.builder("jenkins.singleflight.coalesced", singleFlight, SingleFlight::getCoalescedCount)
+                .description("Jenkins requests saved by joining an identical request in flight")
+                .register(meterRegistry);
+        Gauge.builder("jenkins.singleflight.in-flight", singleFlight, SingleFlight::getInFlightCount)
+                .register(meterRegistry);
+    }
+
+    //copy of a configured service pointed at another controller: same settings and response cache (keyed on the URL),
+    //its own client and fan-out pool; the local build history and the job catalog only cover jenkins.url and are left out
+    private JenkinsService(JenkinsService template, String jenkinsUrl, RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+        this.buildHistoryStore = null;
+        this.jobCatalog = null;
+        this.responseCache = template.responseCache;
+        this.verifiedCredentialCache = template.verifiedCredentialCache;
+        this.meterRegistry = template.meterRegistry;
+        this.jenkinsUrl = jenkinsUrl;
+        this.fanOutParallelism = template.fanOutParallelism;
+        this.fanOutTimeoutMillis = template.fanOutTimeoutMillis;
+        this.latestBuildMode = template.latestBuildMode;
+        this.buildsFetchMode = template.buildsFetchMode;
+        this.overlapLookbackMillis = template.overlapLookbackMillis;
+        this.levelsPerRequest = template.levelsPerRequest;
+    }
+
+    //the caller stops the copy's fan-out pool with stopFanOutExecutor
+    JenkinsService forController(String jenkinsUrl, RestTemplate restTemplate) {
+        JenkinsService copy = new JenkinsService(this, jenkinsUrl, restTemplate);
+        copy.startFanOutExecutor();
+        return copy;
+    }
+
+    @PostConstruct
+    void startFanOutExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.fanOutExecutor = Executors.newFixedThreadPool(fanOutParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "jenkins-fanout-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopFanOutExecutor() {
+        fanOutExecutor.shutdownNow();
     }
 
     ///////////////////////////////////////////////////////////////////////////////////////
     public HttpHeaders getAuthHeadersJenkins(String username, String password) {
         try {
-            // Encode credentials
-            String plainCredentials = username + ":" + password;
-            String encodedCredentials = Base64.getEncoder().encodeToString(plainCredentials.getBytes(StandardCharsets.UTF_8));
+            HttpHeaders headers = buildAuthHeaders(username, password);
 
-            // Create headers with Authorization header
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "Basic " + encodedCredentials);
-            headers.setContentType(MediaType.APPLICATION_JSON);
+            // Credentials Jenkins accepted recently are not checked again until their cache entry expires
+            if (verifiedCredentialCache.isVerified(username, password)) {
+                return headers;
+            }
 
             // Perform a test request to Jenkins to check authentication
             // If the request succeeds, it means the provided credentials are valid
-            //url encoding with UriComponentsBuilder
+            // A one-field projection keeps the check cheap compared to the full root document
             UriComponents testUrl = UriComponentsBuilder
                     .fromHttpUrl(jenkinsUrl)
                     .path("api/json")
+                    .queryParam("tree", "mode")
                     .build();
-            ;
+
             HttpEntity<String> requestEntity = new HttpEntity<>(headers);
 
             ResponseEntity<String> responseEntity = restTemplate.exchange(testUrl.toUri(), HttpMethod.GET, requestEntity, String.class);
 
             if (responseEntity.getStatusCode() == HttpStatus.OK) {
                 // Return the headers if authentication is successful
+                verifiedCredentialCache.remember(username, password);
                 return headers;
             } else {
                 // If authentication fails, return null or throw an exception, based on your requirements
                 return null;
             }
+        } catch (HttpClientErrorException.Unauthorized e) {
+            // Jenkins rejected this user: a verification still cached for it no longer counts
+            verifiedCredentialCache.forget(username);
+            log.warn("Authentication of {} against Jenkins failed: {}", username, e.getMessage());
+            return null;
         } catch (Exception e) {
             // Handle any exceptions that might occur during authentication
             // For example, log the error and return null or throw an exception
-            e.printStackTrace();
+            log.warn("Authentication of {} against Jenkins failed: {}", username, e.getMessage());
             return null;
         } finally {
             // Clear sensitive data
@@ -73,6 +192,20 @@ public class JenkinsService {
 
 
 
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //Basic authentication headers for a Jenkins user, without checking them against the server
+    public HttpHeaders buildAuthHeaders(String username, String password) {
+        // Encode credentials
+        String plainCredentials = username + ":" + password;
+        String encodedCredentials = Base64.getEncoder().encodeToString(plainCredentials.getBytes(StandardCharsets.UTF_8));
+
+        // Create headers with Authorization header
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Basic " + encodedCredentials);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////
     //retrieve all the job name from jenkins server
     public List<String> getAllJobNames(HttpHeaders headers) throws JsonProcessingException {
@@ -83,42 +216,164 @@ public class JenkinsService {
                 .queryParam("tree", "jobs[name]")
                 .build();
 
-        System.out.println(url);
-
-        HttpEntity<String> requestEntity = new HttpEntity<>(headers);
+        // Extract the job names while the response is read
+        return fetchAndParse(url, headers, JenkinsResponseCache.ResourceType.JOBS, JenkinsResponseParser::parseJobNames);
+    }
 
-        // Send the request and retrieve the response
-        ResponseEntity<String> responseEntity = restTemplate.exchange(url.toUri(), HttpMethod.GET, requestEntity, String.class);
-        System.out.println("responseEntity: "+responseEntity);
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //one level-limited slice of the folder tree below a folder ("" for the root), used by the job catalog crawl
+    public JsonNode getJobTree(HttpHeaders headers, String folderPath, String tree) throws JsonProcessingException {
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .pathSegment(jobSegments(folderPath, "api/json"))
+                .queryParam("tree", tree)
+                .build();
 
-        HttpStatusCode responseStatus = responseEntity.getStatusCode();
+        return fetchAndParse(url, headers, JenkinsResponseCache.ResourceType.JOBS, objectMapper::readTree);
+    }
 
+    //URL path segments of a job path: "folder/sub/job" is job/folder/job/sub/job/job, "" is the root
+    static String[] jobSegments(String jobPath, String... rest) {
+        List<String> segments = new ArrayList<>();
+        if (!jobPath.isEmpty()) {
+            for (String name : jobPath.split("/")) {
+                segments.add("job");
+                segments.add(name);
+            }
+        }
+        segments.addAll(Arrays.asList(rest));
+        return segments.toArray(new String[0]);
+    }
 
-        if (responseStatus == HttpStatus.OK) {
-            String responseBody = responseEntity.getBody();
+    //jobs[fields,jobs[fields,...]] nested the given number of levels
+    static String nestedJobsTree(String fields, int levels) {
+        return "jobs[" + fields + (levels > 1 ? "," + nestedJobsTree(fields, levels - 1) : "") + "]";
+    }
 
-            System.out.println("responseBody: "+responseBody);
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //GET a Jenkins resource and parse the body as it streams in, nothing is buffered into a String.
+    //Concurrent identical calls (same credentials, URL and parse variant) share one request.
+    private <T> T fetchAndParse(UriComponents url, HttpHeaders headers, String variant, ResponseParser<T> responseParser) throws JsonProcessingException {
+        String flightKey = JenkinsResponseCache.key(url.toUriString(), headers) + " " + variant;
+        return singleFlight.execute(flightKey, () -> fetchAndParseOnce(url, headers, responseParser));
+    }
 
+    private <T> T fetchAndParseOnce(UriComponents url, HttpHeaders headers, ResponseParser<T> responseParser) throws JsonProcessingException {
+        try {
+            return restTemplate.execute(url.toUri(), HttpMethod.GET,
+                    request -> request.getHeaders().putAll(headers),
+                    response -> {
+                        HttpStatusCode responseStatus = response.getStatusCode();
+                        checkStatus(url, responseStatus);
+                        return responseParser.parse(response.getBody());
+                    });
+        } catch (ResourceAccessException e) {
+            throw unwrapParseError(e);
+        }
+    }
 
-            // Extract the job names from the response
-            ObjectMapper objectMapper = new ObjectMapper();
-            JsonNode rootNode = objectMapper.readTree(responseBody);
-            JsonNode jobsNode = rootNode.get("jobs");
-            List<String> jobNames = new ArrayList<>();
+    //same, going through the response cache: fresh bodies are served from memory,
+    //expired ones are revalidated with a conditional request when Jenkins sent an ETag or Last-Modified
+    private <T> T fetchAndParse(UriComponents url, HttpHeaders headers, JenkinsResponseCache.ResourceType resourceType, ResponseParser<T> responseParser) throws JsonProcessingException {
+        if (!responseCache.isEnabled()) {
+            return fetchAndParse(url, headers, resourceType.name(), responseParser);
+        }
+        String key = JenkinsResponseCache.key(url.toUriString(), headers);
+        JenkinsResponseCache.Entry cached = responseCache.get(key);
+        if (cached != null && cached.isFresh()) {
+            responseCache.recordHit();
+            return parseCached(cached.getBody(), responseParser);
+        }
+        responseCache.recordMiss();
 
-            for (JsonNode jobNode : jobsNode) {
-                String jobName = jobNode.get("name").asText();
-                jobNames.add(jobName);
+        // Sessions missing the cache at the same moment share one request
+        byte[] body;
+        try {
+            body = singleFlight.execute(key, () -> fetchForCache(url, headers, key, cached, resourceType));
+        } catch (JenkinsUnavailableException | ResourceAccessException e) {
+            // Jenkins is down or overloaded: an expired copy beats an error page
+            if (cached == null) {
+                throw e;
             }
+            log.warn("Jenkins unavailable, serving stale {}: {}", resourceType, e.getMessage());
+            responseCache.recordStale();
+            body = cached.getBody();
+        }
+        return parseCached(body, responseParser);
+    }
 
-            return jobNames;
-        } else {
-            throw new RuntimeException("Failed to fetch job data from Jenkins. Status code: " + responseStatus);
+    //5xx and 429 mean Jenkins is struggling (callers may fall back to cached data), any other non-200 is a plain failure
+    private static void checkStatus(UriComponents url, HttpStatusCode responseStatus) {
+        if (responseStatus.is5xxServerError() || responseStatus.value() == 429) {
+            throw new JenkinsUnavailableException("Request to " + url + " failed. Status code: " + responseStatus);
+        }
+        if (responseStatus != HttpStatus.OK) {
+            throw new RestClientException("Request to " + url + " failed. Status code: " + responseStatus);
+        }
+    }
+
+    private byte[] fetchForCache(UriComponents url, HttpHeaders headers, String key, JenkinsResponseCache.Entry cached, JenkinsResponseCache.ResourceType resourceType) throws JsonProcessingException {
+        try {
+            return restTemplate.execute(url.toUri(), HttpMethod.GET,
+                    request -> {
+                        request.getHeaders().putAll(headers);
+                        if (cached != null) {
+                            cached.addConditionalHeaders(request.getHeaders());
+                        }
+                    },
+                    response -> {
+                        HttpStatusCode responseStatus = response.getStatusCode();
+                        if (cached != null && responseStatus == HttpStatus.NOT_MODIFIED) {
+                            responseCache.revalidated(cached, resourceType);
+                            return cached.getBody();
+                        }
+                        checkStatus(url, responseStatus);
+                        byte[] fetched = response.getBody().readAllBytes();
+                        HttpHeaders responseHeaders = response.getHeaders();
+                        responseCache.put(key, resourceType, fetched, responseHeaders.getETag(), responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED));
+                        return fetched;
+                    });
+        } catch (ResourceAccessException e) {
+            throw unwrapParseError(e);
+        } catch (HttpStatusCodeException e) {
+            // The error handler raises 4xx/5xx before the extractor sees them: a 5xx or 429 must still allow the stale copy
+            checkStatus(url, e.getStatusCode());
+            throw e;
+        }
+    }
+
+    private <T> T parseCached(byte[] body, ResponseParser<T> responseParser) throws JsonProcessingException {
+        try {
+            return responseParser.parse(new ByteArrayInputStream(body));
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
+    //RestTemplate wraps every IOException of the extractor, hand parse errors back as such
+    private RuntimeException unwrapParseError(ResourceAccessException e) throws JsonProcessingException {
+        if (e.getCause() instanceof JsonProcessingException) {
+            throw (JsonProcessingException) e.getCause();
+        }
+        return e;
+    }
+
+    public Map<String, Object> getCacheStatistics() {
+        Map<String, Object> statistics = responseCache.getStatistics();
+        statistics.put("coalescedRequests", singleFlight.getCoalescedCount());
+        statistics.put("inFlightRequests", singleFlight.getInFlightCount());
+        return statistics;
+    }
+
+    @FunctionalInterface
+    private interface ResponseParser<T> {
+        T parse(InputStream body) throws IOException;
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////
-    private String getJobStatusFromJenkins(JsonNode rootNode) {
+    static String getJobStatusFromJenkins(JsonNode rootNode) {
         JsonNode colorNode = rootNode.get("color");
         if (colorNode != null && colorNode.isTextual()) {
             String color = colorNode.asText();
@@ -156,245 +411,456 @@ public class JenkinsService {
     ///////////////////////////////////////////////////////////////////////////////////////
 
     public JenkinsJobBuild getLatestJobBuild(HttpHeaders headers) throws JsonProcessingException {
+        if ("tree".equals(latestBuildMode)) {
+            try {
+                return getLatestJobBuildFromTree(headers);
+            } catch (JenkinsUnavailableException e) {
+                throw e; // one request per job would only add load
+            } catch (RestClientException e) {
+                // Some controllers reject (or time out on) large tree queries: fall back to one request per job
+                log.warn("Latest build tree query failed, falling back to per-job lookups: {}", e.getMessage());
+            }
+        }
+        return getLatestJobBuildPerJob(headers);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //single round-trip: every job's lastBuild projected in one tree= query
+    private JenkinsJobBuild getLatestJobBuildFromTree(HttpHeaders headers) throws JsonProcessingException {
+        JenkinsJobBuild latestJobBuild = null;
+        for (JenkinsJobBuild lastBuild : getLastBuilds(headers).values()) {
+            if (latestJobBuild == null || lastBuild.getStartMillis() > latestJobBuild.getStartMillis()) {
+                latestJobBuild = lastBuild;
+            }
+        }
+        return latestJobBuild;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //last build of every job (jobs never built are left out), from one tree= query reaching into folders
+    //down to jenkins.catalog.levels-per-request levels, keyed by job path
+    public Map<String, JenkinsJobBuild> getLastBuilds(HttpHeaders headers) throws JsonProcessingException {
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .path("api/json")
+                .queryParam("tree", getLastBuildsTree())
+                .build();
+
+        return toLastBuilds(fetchAndParse(url, headers, JenkinsResponseCache.ResourceType.LATEST_BUILDS, objectMapper::readTree));
+    }
+
+    String getLastBuildsTree() {
+        return nestedJobsTree("name,lastBuild[number,timestamp,duration,result]", levelsPerRequest);
+    }
+
+    static Map<String, JenkinsJobBuild> toLastBuilds(JsonNode rootNode) {
+        Map<String, JenkinsJobBuild> lastBuilds = new LinkedHashMap<>();
+        addLastBuilds("", rootNode.path("jobs"), lastBuilds);
+        return lastBuilds;
+    }
+
+    private static void addLastBuilds(String folderPath, JsonNode jobsNode, Map<String, JenkinsJobBuild> lastBuilds) {
+        for (JsonNode jobNode : jobsNode) {
+            String jobPath = folderPath.isEmpty() ? jobNode.path("name").asText() : folderPath + "/" + jobNode.path("name").asText();
+            if (jobNode.has("jobs")) {
+                addLastBuilds(jobPath, jobNode.get("jobs"), lastBuilds); // folder
+                continue;
+            }
+            JsonNode lastBuildNode = jobNode.get("lastBuild");
+            if (lastBuildNode == null || lastBuildNode.isNull()) {
+                continue; // job never built
+            }
+            JenkinsJobBuild lastBuild = new JenkinsJobBuild();
+            lastBuild.setJobName(jobPath);
+            lastBuild.setStartMillis(lastBuildNode.path("timestamp").asLong());
+            lastBuild.setBuildNumber(lastBuildNode.path("number").asInt());
+            lastBuild.setDurationMillis(lastBuildNode.path("duration").asLong());
+            lastBuild.setJobStatus(getJobStatusFromJenkins(lastBuildNode));
+            lastBuilds.put(lastBuild.getJobName(), lastBuild);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //fallback: one lastBuild request per job, fanned out on the bounded pool
+    private JenkinsJobBuild getLatestJobBuildPerJob(HttpHeaders headers) throws JsonProcessingException {
         HttpEntity<String> requestEntity = new HttpEntity<>(headers);
 
 
-        List<String> allJobNames = getAllJobNames(headers);
+        // Job paths, not top-level names: jobs inside folders count and folders have no lastBuild
+        List<String> allJobNames = getJobPaths(headers);
         JenkinsJobBuild latestJobBuild = null;
-        LocalDateTime latestDateTime = LocalDateTime.MIN; // Initialize to the smallest possible value
 
+        // Fan the per-job lookups out on the bounded pool and merge each result as soon as it completes
+        CompletionService<JenkinsJobBuild> completionService = new ExecutorCompletionService<>(fanOutExecutor);
+        List<Future<JenkinsJobBuild>> pending = new ArrayList<>();
         for (String jobName : allJobNames) {
-            UriComponents url = UriComponentsBuilder
-                    .fromHttpUrl(jenkinsUrl)
-                    .pathSegment("job", jobName, "lastBuild", "api/json")
-                    .build();
+            pending.add(completionService.submit(() -> fetchLastBuild(requestEntity, jobName)));
+        }
 
-            // Send the request and retrieve the response
-            ResponseEntity<String> responseEntity = restTemplate.exchange(url.toUri(), HttpMethod.GET, requestEntity, String.class);
-            HttpStatusCode responseStatus = responseEntity.getStatusCode();
-
-            if (responseStatus == HttpStatus.OK) {
-
-                String responseBody = responseEntity.getBody();
-
-                // Extract the values
-                ObjectMapper objectMapper = new ObjectMapper();
-                JsonNode rootNode = objectMapper.readTree(responseBody);
-
-                String fullDisplayName = rootNode.get("fullDisplayName").asText();
-                // Split the string by the '#' character
-                String[] parts = fullDisplayName.split("#");
-                // Extract the BuildNumber
-                int buildNumber = Integer.parseInt(parts[1].trim());
-
-                // Extract the timestamp
-                String timestampS = rootNode.get("timestamp").asText();
-                long timestampI = Long.parseLong(timestampS);
-                Instant instant = Instant.ofEpochMilli(timestampI);
-                LocalDateTime dateTime = LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
-
-                if (dateTime.isAfter(latestDateTime)) {
-                    // If the current build has a more recent datetime, update the latestJobBuild
-                    latestDateTime = dateTime;
-
-                    // Retrieve other job information ( job name, duration, status)
-                    String jobDuration = rootNode.get("duration").asText();
-                    String jobStatus = getJobStatusFromJenkins(rootNode);
-
-                    // Create an instance of JenkinsJobBuild
-                    latestJobBuild = new JenkinsJobBuild();
-                    latestJobBuild.setJobName(jobName);
-                    latestJobBuild.setdateTime(dateTime);
-                    latestJobBuild.setBuildNumber(buildNumber);
-                    latestJobBuild.setjobDuration(jobDuration);
-                    latestJobBuild.setJobStatus(jobStatus); // Set the job status
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fanOutTimeoutMillis);
+        int received = 0;
+        int failed = 0;
+        try {
+            while (received < pending.size()) {
+                long remaining = deadline - System.nanoTime();
+                Future<JenkinsJobBuild> done = completionService.poll(remaining, TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    // Deadline reached: keep what we have and report the jobs we gave up on
+                    log.warn("Latest build fan-out deadline reached, {} of {} jobs skipped", pending.size() - received, pending.size());
+                    break;
                 }
-            } else {
-                System.out.println("Request failed with status code: " + responseStatus);
+                received++;
+                try {
+                    JenkinsJobBuild jobBuild = done.get();
+                    if (jobBuild != null && (latestJobBuild == null || jobBuild.getStartMillis() > latestJobBuild.getStartMillis())) {
+                        // If the current build has a more recent datetime, update the latestJobBuild
+                        latestJobBuild = jobBuild;
+                    }
+                } catch (ExecutionException e) {
+                    // A job that failed or answered something unreadable is left out like one that timed out
+                    failed++;
+                    log.debug("Last build lookup failed: {}", e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (Future<JenkinsJobBuild> future : pending) {
+                future.cancel(true);
             }
         }
+        if (failed > 0) {
+            log.warn("Latest build fan-out: {} of {} jobs failed and were left out", failed, pending.size());
+            meterRegistry.counter("jenkins.fanout.failures").increment(failed);
+        }
 
         return latestJobBuild;
     }
 
+    //every job path: from the shared catalog for jenkins.url, crawled on the fan-out pool for another controller
+    private List<String> getJobPaths(HttpHeaders headers) throws JsonProcessingException {
+        if (jobCatalog != null) {
+            return jobCatalog.getObject().getJobPaths(headers);
+        }
+        String tree = JobCatalog.crawlTree(levelsPerRequest);
+        List<String> jobPaths = new ArrayList<>();
+        JobCatalog.crawl(folderPath -> getJobTree(headers, folderPath, tree), levelsPerRequest, fanOutExecutor, fanOutTimeoutMillis, jobPaths);
+        return jobPaths;
+    }
 
     ///////////////////////////////////////////////////////////////////////////////////////
-    //This method will be used to retrieve time range job builds
-    public List<JenkinsJobBuild> getJobBuildsByTimeRange(HttpHeaders headers,LocalDateTime startTime, LocalDateTime endTime,String TheJobName) throws Exception {
-
-
-
+    //retrieve the last build of a single job, or null when Jenkins did not answer with 200
+    private JenkinsJobBuild fetchLastBuild(HttpEntity<String> requestEntity, String jobName) throws JsonProcessingException {
         UriComponents url = UriComponentsBuilder
                 .fromHttpUrl(jenkinsUrl)
-                .pathSegment("job", TheJobName, "api/json")
-                .queryParam("pretty", "true")
-                .queryParam("depth", "2")
+                .pathSegment(jobSegments(jobName, "lastBuild", "api/json"))
                 .build();
 
-
-        // Create RestTemplate instance
-        RestTemplate restTemplate = new RestTemplate();
-
-
-        HttpEntity<String> requestEntity = new HttpEntity<>(headers);
-
         // Send the request and retrieve the response
         ResponseEntity<String> responseEntity = restTemplate.exchange(url.toUri(), HttpMethod.GET, requestEntity, String.class);
-
-
         HttpStatusCode responseStatus = responseEntity.getStatusCode();
 
         if (responseStatus == HttpStatus.OK) {
-            String responseBody = responseEntity.getBody();
-
-            // Extract the values
-            ObjectMapper objectMapper = new ObjectMapper();
-            JsonNode rootNode = objectMapper.readTree(responseBody);
 
-            List<JenkinsJobBuild> jobBuilds = new ArrayList<>();
-
-            // Iterate over the builds
-            JsonNode buildsNode = rootNode.get("builds");
-            if (buildsNode.isArray()) {
+            String responseBody = responseEntity.getBody();
 
-                for (JsonNode buildNode : buildsNode) {
-                    JenkinsJobBuild jobBuild = new JenkinsJobBuild();
+            return toLastBuild(jobName, objectMapper.readTree(responseBody));
+        } else {
+            log.debug("Last build of {} not available, status {}", jobName, responseStatus);
+            return null;
+        }
+    }
 
-                    // Extract build information
-                    jobBuild.setJobName(rootNode.get("displayName").asText());
-                    jobBuild.setQueuingDuration(buildNode.path("actions").get(1).path("queuingDurationMillis").asText());
-                    jobBuild.setBuildNumber(buildNode.path("number").asInt());
-                    jobBuild.setJobStatus(buildNode.path("result").asText());
-                    jobBuild.setjobDuration(buildNode.path("duration").asText());
-                    String timestampS=buildNode.path("timestamp").asText();
+    //a job/X/lastBuild/api/json document as a build
+    static JenkinsJobBuild toLastBuild(String jobName, JsonNode rootNode) {
+        // Extract the values
+        String fullDisplayName = rootNode.get("fullDisplayName").asText();
+        // Split the string by the '#' character
+        String[] parts = fullDisplayName.split("#");
+        // Extract the BuildNumber
+        int buildNumber = Integer.parseInt(parts[1].trim());
+
+        // Extract the timestamp
+        long timestamp = rootNode.get("timestamp").asLong();
+
+        // Retrieve other job information ( job name, duration, status)
+        long jobDuration = rootNode.get("duration").asLong();
+        String jobStatus = getJobStatusFromJenkins(rootNode);
+
+        // Create an instance of JenkinsJobBuild
+        JenkinsJobBuild jobBuild = new JenkinsJobBuild();
+        jobBuild.setJobName(jobName);
+        jobBuild.setStartMillis(timestamp);
+        jobBuild.setBuildNumber(buildNumber);
+        jobBuild.setDurationMillis(jobDuration);
+        jobBuild.setJobStatus(jobStatus); // Set the job status
+        return jobBuild;
+    }
 
-                    //Converting to local dataTime type:
-                    long timestampI =Long.parseLong(timestampS);
-                    Instant instant = Instant.ofEpochMilli(timestampI);
-                    LocalDateTime dateTime = LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
-                    jobBuild.setdateTime(dateTime);
 
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //This method will be used to retrieve time range job builds
+    public List<JenkinsJobBuild> getJobBuildsByTimeRange(HttpHeaders headers,LocalDateTime startTime, LocalDateTime endTime,String TheJobName) throws Exception {
+        return getJobBuildsByTimeRange(headers, startTime, endTime, TheJobName, TimeRangeMatch.STARTED);
+    }
 
-                    LocalDateTime TheEndTime=jobBuild.CalculateTheEndTime();
-                    jobBuild.setTheEndTime(TheEndTime);
+    public List<JenkinsJobBuild> getJobBuildsByTimeRange(HttpHeaders headers,LocalDateTime startTime, LocalDateTime endTime,String TheJobName, TimeRangeMatch match) throws Exception {
 
-                    LocalDateTime executionDate=jobBuild.CalculateExecutionDate();
-                    jobBuild.setExecutionDate(executionDate);
+        long from = startTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long to = endTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
 
-                    if (dateTime.isAfter(startTime) && dateTime.isBefore(endTime)) {
-                        jobBuilds.add(jobBuild);
-                    }
-                }
+        // Answer from the local build history once the background sync has covered this job. The store stops at the
+        // first running build and lags the sync interval: builds numbered above its high-water mark are read live.
+        if (buildHistoryStore != null && buildHistoryStore.isEnabled() && buildHistoryStore.hasJob(TheJobName)) {
+            int highestStored = buildHistoryStore.getHighestBuildNumber(TheJobName);
+            List<JenkinsJobBuild> jobBuilds = countBuilds("store", buildHistoryStore.findByTimeRange(TheJobName, startTime, endTime, match));
+            // Newer builds started after the newest stored one, none of them starts inside a window ending before it
+            if (to > buildHistoryStore.getHighestBuildStart(TheJobName)) {
+                jobBuilds.addAll(countBuilds("tail", getBuildsAfter(headers, TheJobName, highestStored, from, to, match)));
             }
-
             return jobBuilds;
-        } else {
-            throw new Exception("Failed to retrieve job builds. Status: " + responseStatus);
         }
-    }
 
-    ///////////////////////////////////////////////////////////////////////////////////////
-    //retrieve all {JobName , buildNumber, NodeName}
-    public ResponseEntity<Object> getallJobInfo(HttpHeaders headers) {
-        try {
-
-
-            UriComponents url = UriComponentsBuilder
-                    .fromHttpUrl(jenkinsUrl)
-                    .path("api/json")
-                    .queryParam("tree", "jobs[name,builds[number,builtOn]]")
-                    .build();
+        if ("range".equals(buildsFetchMode)) {
+            try {
+                return countBuilds("range", getJobBuildsByIndexRange(headers, TheJobName, from, to, match));
+            } catch (JenkinsUnavailableException e) {
+                throw e; // the depth=2 download is the heavier request
+            } catch (RestClientException e) {
+                log.warn("Range fetch failed for {}, falling back to depth=2: {}", TheJobName, e.getMessage());
+            }
+        }
 
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .pathSegment(jobSegments(TheJobName, "api/json"))
+                .queryParam("depth", "2")
+                .build();
 
-            // Create RestTemplate instance
-            RestTemplate restTemplate = new RestTemplate();
+        // Builds outside the window are dropped while parsing
+        return countBuilds("depth", fetchAndParse(url, headers, "builds " + from + " " + to + " " + match,
+                body -> JenkinsResponseParser.parseBuildsInWindow(body, TheJobName, from, to, match)));
+    }
 
+    //builds returned per call, by where they came from (store, range, depth or sync)
+    private List<JenkinsJobBuild> countBuilds(String source, List<JenkinsJobBuild> builds) {
+        DistributionSummary.builder("jenkins.builds.parsed")
+                .tags("source", source)
+                .register(meterRegistry)
+                .record(builds.size());
+        return builds;
+    }
 
-            HttpEntity<String> requestEntity = new HttpEntity<>(headers);
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //builds in the window numbered above afterBuildNumber, oldest first, running ones included.
+    //allBuilds is newest first, so they are among its first (last build number - afterBuildNumber) entries.
+    private List<JenkinsJobBuild> getBuildsAfter(HttpHeaders headers, String jobName, int afterBuildNumber, long from, long to, TimeRangeMatch match) throws JsonProcessingException {
+        UriComponents lastBuildUrl = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .pathSegment(jobSegments(jobName, "api/json"))
+                .queryParam("tree", "lastBuild[number]")
+                .build();
+        int lastBuildNumber = fetchAndParse(lastBuildUrl, headers, "last", objectMapper::readTree).path("lastBuild").path("number").asInt(0);
+        if (lastBuildNumber <= afterBuildNumber) {
+            return new ArrayList<>();
+        }
 
-            // Send the request and retrieve the response
-            ResponseEntity<String> responseEntity = restTemplate.exchange(url.toUri(), HttpMethod.GET, requestEntity, String.class);
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .pathSegment(jobSegments(jobName, "api/json"))
+                .queryParam("tree", "displayName,allBuilds[number,timestamp,duration,result,builtOn,actions[queuingDurationMillis]]{0," + (lastBuildNumber - afterBuildNumber) + "}")
+                .build();
 
+        // Trimmed and reordered inside the parser: the parsed list is shared with coalesced callers and must not change afterwards
+        return fetchAndParse(url, headers, "tail " + afterBuildNumber + " " + from + " " + to + " " + match, body -> {
+            List<JenkinsJobBuild> jobBuilds = JenkinsResponseParser.parseBuildsInWindow(body, jobName, from, to, match);
+            // Deleted builds leave gaps in the numbering, the slice may reach stored ones
+            jobBuilds.removeIf(jobBuild -> jobBuild.getBuildNumber() <= afterBuildNumber);
+            Collections.reverse(jobBuilds);
+            return jobBuilds;
+        });
+    }
 
-            HttpStatusCode responseStatus = responseEntity.getStatusCode();
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //Fetch only the slice of allBuilds covering the window. allBuilds is ordered newest first and
+    //timestamps grow with build numbers, so the slice bounds are found by galloping/binary search on
+    //one-timestamp probes (allBuilds[timestamp]{i,i+1}), then the slice is read with the fields we need.
+    private List<JenkinsJobBuild> getJobBuildsByIndexRange(HttpHeaders headers, String jobName, long from, long to, TimeRangeMatch match) throws JsonProcessingException {
+        // A build overlapping the window may have started before it, up to the lookback
+        long oldestStart = match == TimeRangeMatch.OVERLAPPED ? from - overlapLookbackMillis : from;
+
+        Map<Integer, Long> probes = new HashMap<>();
+        int newestIndex = firstIndexStartedBefore(headers, jobName, to, 0, probes);
+        int oldestIndex = firstIndexStartedBefore(headers, jobName, oldestStart + 1, newestIndex, probes);
+        if (newestIndex >= oldestIndex) {
+            return new ArrayList<>();
+        }
 
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .pathSegment(jobSegments(jobName, "api/json"))
+                .queryParam("tree", "displayName,allBuilds[number,timestamp,duration,result,builtOn,actions[queuingDurationMillis]]{" + newestIndex + "," + oldestIndex + "}")
+                .build();
 
-            if (responseStatus == HttpStatus.OK) {
+        return fetchAndParse(url, headers, "range " + from + " " + to + " " + match,
+                body -> JenkinsResponseParser.parseBuildsInWindow(body, jobName, from, to, match));
+    }
 
+    //first allBuilds index (newest first) whose build started before the limit, or the build count when none did.
+    //Indices below startIndex are known to have started at or after the limit.
+    private int firstIndexStartedBefore(HttpHeaders headers, String jobName, long limit, int startIndex, Map<Integer, Long> probes) throws JsonProcessingException {
+        if (probeTimestamp(headers, jobName, startIndex, probes) < limit) {
+            return startIndex;
+        }
+        // Gallop: startIndex+1, +2, +4, ... until a build started before the limit (or the history ends)
+        int notBefore = startIndex;
+        int step = 1;
+        int candidate = startIndex + step;
+        while (probeTimestamp(headers, jobName, candidate, probes) >= limit) {
+            notBefore = candidate;
+            step *= 2;
+            candidate = startIndex + step;
+        }
+        // Binary search in ]notBefore, candidate]
+        int lo = notBefore + 1;
+        int hi = candidate;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (probeTimestamp(headers, jobName, mid, probes) < limit) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
 
-                String responseBody = responseEntity.getBody();
+    //start timestamp of allBuilds[index], Long.MIN_VALUE past the end of the history
+    private long probeTimestamp(HttpHeaders headers, String jobName, int index, Map<Integer, Long> probes) throws JsonProcessingException {
+        Long known = probes.get(index);
+        if (known != null) {
+            return known;
+        }
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .pathSegment(jobSegments(jobName, "api/json"))
+                .queryParam("tree", "allBuilds[timestamp]{" + index + "," + (index + 1) + "}")
+                .build();
 
-                List<Map<String, String>> jobInfoList = new ArrayList<>();
+        JsonNode allBuilds = fetchAndParse(url, headers, "probe", objectMapper::readTree).path("allBuilds");
+        long timestamp = allBuilds.size() == 0 ? Long.MIN_VALUE : allBuilds.get(0).path("timestamp").asLong();
+        probes.put(index, timestamp);
+        return timestamp;
+    }
 
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //retrieve the finished builds of a job numbered above afterBuildNumber, oldest first (used by the build history sync)
+    public List<JenkinsJobBuild> getFinishedBuildsAfter(HttpHeaders headers, String jobName, int afterBuildNumber) throws JsonProcessingException {
+        String fields = "number,timestamp,duration,result,building,builtOn,actions[queuingDurationMillis]";
+
+        // "builds" only lists the most recent builds, the full history is needed when we are further behind
+        JsonNode buildsNode = fetchBuildsTree(headers, jobName, "builds[" + fields + "]", "builds");
+        int oldestListed = Integer.MAX_VALUE;
+        for (JsonNode buildNode : buildsNode) {
+            oldestListed = Math.min(oldestListed, buildNode.path("number").asInt());
+        }
+        if (buildsNode.size() > 0 && oldestListed > afterBuildNumber + 1) {
+            buildsNode = fetchBuildsTree(headers, jobName, "allBuilds[" + fields + "]", "allBuilds");
+        }
 
-                ObjectMapper objectMapper = new ObjectMapper();
-                JsonNode rootNode = objectMapper.readTree(responseBody);
-                JsonNode jobsNode = rootNode.get("jobs");
+        // Jenkins lists builds newest first
+        List<JsonNode> newBuilds = new ArrayList<>();
+        for (JsonNode buildNode : buildsNode) {
+            if (buildNode.path("number").asInt() > afterBuildNumber) {
+                newBuilds.add(buildNode);
+            }
+        }
+        newBuilds.sort(Comparator.comparingInt(buildNode -> buildNode.path("number").asInt()));
 
-                for (JsonNode jobNode : jobsNode) {
-                    String jobName = jobNode.get("name").asText();
+        List<JenkinsJobBuild> jobBuilds = new ArrayList<>();
+        for (JsonNode buildNode : newBuilds) {
+            if (buildNode.path("building").asBoolean()) {
+                // Stop at a running build: storing later ones would move the highest stored number past it
+                break;
+            }
+            String queuingDuration = "";
+            for (JsonNode actionNode : buildNode.path("actions")) {
+                if (actionNode.has("queuingDurationMillis")) {
+                    queuingDuration = actionNode.get("queuingDurationMillis").asText();
+                    break;
+                }
+            }
+            jobBuilds.add(JenkinsResponseParser.toJobBuild(jobName, buildNode.path("number").asInt(),
+                    buildNode.path("timestamp").asLong(), buildNode.path("duration").asLong(),
+                    queuingDuration.isEmpty() ? -1 : Long.parseLong(queuingDuration),
+                    buildNode.path("result").asText(), buildNode.path("builtOn").asText()));
+        }
+        return countBuilds("sync", jobBuilds);
+    }
 
-                    JsonNode buildsNode = jobNode.get("builds");
-                    for (JsonNode buildNode : buildsNode) {
-                        String number = buildNode.get("number").asText();
-                        String builtOn = buildNode.has("builtOn") ? buildNode.get("builtOn").asText() : "-";
+    private JsonNode fetchBuildsTree(HttpHeaders headers, String jobName, String tree, String field) throws JsonProcessingException {
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .pathSegment(jobSegments(jobName, "api/json"))
+                .queryParam("tree", tree)
+                .build();
 
-                        Map<String, String> jobInfo = new HashMap<>();
-                        jobInfo.put("name", jobName);
-                        jobInfo.put("number", number);
-                        jobInfo.put("builtOn", builtOn);
-                        jobInfoList.add(jobInfo);
-                    }
-                }
+        ResponseEntity<String> responseEntity = restTemplate.exchange(url.toUri(), HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        HttpStatusCode responseStatus = responseEntity.getStatusCode();
+        if (responseStatus != HttpStatus.OK) {
+            throw new RuntimeException("Failed to fetch builds of " + jobName + " from Jenkins. Status code: " + responseStatus);
+        }
+        return objectMapper.readTree(responseEntity.getBody()).path(field);
+    }
 
-                return ResponseEntity.ok().body(jobInfoList);
-            } else {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", "Failed to fetch job data from Jenkins. Status code: " + responseStatus));
-            }
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //retrieve all {JobName , buildNumber, NodeName}
+    public ResponseEntity<Object> getallJobInfo(HttpHeaders headers) {
+        try {
+            return ResponseEntity.ok().body(getBuildNodeIndex(headers).toJobInfoList());
+        } catch (JenkinsUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Collections.singletonMap("error", "Jenkins is not available right now, try again shortly."));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", "An unexpected error occurred: " + e.getMessage()));
         }
     }
 
     ///////////////////////////////////////////////////////////////////////////////////////
-    //Retrieve all NodeNames in Jenkins Server
-    public List<String> getNodesNames(HttpHeaders headers) throws JsonProcessingException {
-
-
+    //index of the node every build ran on, keyed by (job name, build number) and by node
+    public BuildNodeIndex getBuildNodeIndex(HttpHeaders headers) throws JsonProcessingException {
 
         UriComponents url = UriComponentsBuilder
                 .fromHttpUrl(jenkinsUrl)
-                .path("computer/api/json")
+                .path("api/json")
+                .queryParam("tree", "jobs[name,builds[number,builtOn]]")
                 .build();
 
-        HttpEntity<String> requestEntity = new HttpEntity<>(headers);
-
-        // Send the request and retrieve the response
-        ResponseEntity<String> responseEntity = restTemplate.exchange(url.toUri(), HttpMethod.GET, requestEntity, String.class);
-
-
-        HttpStatusCode responseStatus = responseEntity.getStatusCode();
-
-        if (responseStatus == HttpStatus.OK) {
-            String responseBody = responseEntity.getBody();
-
+        return fetchAndParse(url, headers, JenkinsResponseCache.ResourceType.JOB_INFO, JenkinsResponseParser::parseBuildNodeIndex);
+    }
 
-            ObjectMapper objectMapper = new ObjectMapper();
-            JsonNode rootNode = objectMapper.readTree(responseBody);
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //Retrieve all NodeNames in Jenkins Server
+    public List<String> getNodesNames(HttpHeaders headers) throws JsonProcessingException {
+        List<String> nodeNames = new ArrayList<>();
+        for (JenkinsNode node : getNodes(headers)) {
+            nodeNames.add(node.getDisplayName());
+        }
+        return nodeNames;
+    }
 
-            List<String> nodesList = new ArrayList<>();
+    //every node with its executor state, from a projection of the computer API (the node catalog keeps these in memory)
+    public List<JenkinsNode> getNodes(HttpHeaders headers) throws JsonProcessingException {
 
-            for (JsonNode Node : rootNode.get("computer")) {
-                String displayName = Node.get("displayName").asText();
-                nodesList.add(displayName);
-            }
-            return nodesList;
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .path("computer/api/json")
+                .queryParam("tree", NODES_TREE)
+                .build();
 
-        } else {
-            System.out.println("Request failed with status code: " + responseStatus);
-        }
-        return null;
+        return fetchAndParse(url, headers, JenkinsResponseCache.ResourceType.NODES, JenkinsResponseParser::parseNodes);
     }
 
+    static final String NODES_TREE = "computer[_class,displayName,numExecutors,idle,offline,executors[idle]]";
+
     ///////////////////////////////////////////////////////////////////////////////////////
 }
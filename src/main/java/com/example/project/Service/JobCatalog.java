@@ -0,0 +1,322 @@
+package com.example.project.Service;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//Every job of the instance, folders and multibranch projects included, as full paths ("folder/sub/job").
+//The folder tree is crawled in parallel: each request reads several levels at once with a nested jobs[...] projection,
+//and folders found at the bottom of a slice are crawled next on a bounded pool.
+//The catalog is kept per credential (users may see different jobs); once it is older than the TTL the current one
+//keeps being served while a single background crawl replaces it. At most jenkins.catalog.max-identities catalogs are
+//kept, and one nobody asked for within jenkins.catalog.idle-ms is dropped.
+//The reactive variant shares the same catalogs, crawled without blocking through a fetcher it passes in.
+@Service
+public class JobCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(JobCatalog.class);
+
+    @Value("${jenkins.catalog.levels-per-request:3}")
+    private int levelsPerRequest;
+
+    //folder slices requested at the same time
+    @Value("${jenkins.catalog.parallelism:8}")
+    private int parallelism;
+
+    @Value("${jenkins.catalog.ttl-ms:300000}")
+    private long ttlMillis;
+
+    //a crawl still running after this returns what it found so far, and is redone on the next call
+    @Value("${jenkins.catalog.timeout-ms:30000}")
+    private long crawlTimeoutMillis;
+
+    @Value("${jenkins.catalog.max-identities:100}")
+    private int maxIdentities;
+
+    @Value("${jenkins.catalog.idle-ms:3600000}")
+    private long idleMillis;
+
+    private final JenkinsService jenkinsService;
+    private IdentityCache<Catalog> catalogs;
+    private final SingleFlight singleFlight = new SingleFlight();
+    //first crawls of the reactive variant in flight, later callers subscribe to the first one's crawl
+    private final Map<String, Mono<Catalog>> asyncCrawls = new ConcurrentHashMap<>();
+    private ExecutorService crawlExecutor;
+    private ExecutorService refreshExecutor;
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    static final class Catalog {
+        final List<String> jobPaths;
+        final long crawledAt;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Catalog(List<String> jobPaths, long crawledAt) {
+            this.jobPaths = jobPaths;
+            this.crawledAt = crawledAt;
+        }
+    }
+
+    @FunctionalInterface
+    interface FolderFetcher {
+        JsonNode fetch(String folderPath) throws JsonProcessingException;
+    }
+
+    @FunctionalInterface
+    public interface AsyncFolderFetcher {
+        Mono<JsonNode> fetch(String folderPath, String tree);
+    }
+
+    private static final class Slice {
+        final String folderPath;
+        final JsonNode tree;
+        final Exception error;
+
+        Slice(String folderPath, JsonNode tree, Exception error) {
+            this.folderPath = folderPath;
+            this.tree = tree;
+            this.error = error;
+        }
+    }
+
+    @Autowired
+    public JobCatalog(JenkinsService jenkinsService) {
+        this.jenkinsService = jenkinsService;
+    }
+
+    @PostConstruct
+    void startExecutors() {
+        this.catalogs = new IdentityCache<>(maxIdentities, idleMillis);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.crawlExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "jenkins-catalog-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jenkins-catalog-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopExecutors() {
+        refreshExecutor.shutdownNow();
+        crawlExecutor.shutdownNow();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //full path of every job visible with these credentials, sorted
+    public List<String> getJobPaths(HttpHeaders headers) throws JsonProcessingException {
+        String identity = JenkinsResponseCache.credentialIdentity(headers.getFirst(HttpHeaders.AUTHORIZATION));
+        Catalog catalog = catalogs.get(identity);
+        if (catalog == null) {
+            // First call for these credentials: concurrent callers share one crawl
+            return singleFlight.execute(identity, () -> crawlAndStore(identity, headers, false)).jobPaths;
+        }
+        if (System.currentTimeMillis() - catalog.crawledAt > ttlMillis && catalog.refreshing.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> {
+                try {
+                    crawlAndStore(identity, headers, true);
+                } catch (Exception e) {
+                    log.warn("Job catalog refresh failed, keeping the previous one: {}", e.getMessage());
+                    catalog.refreshing.set(false);
+                }
+            });
+        }
+        return catalog.jobPaths;
+    }
+
+    //same for the reactive variant: the catalog is answered from memory, a crawl goes through the fetcher without blocking
+    public Mono<List<String>> getJobPaths(HttpHeaders headers, AsyncFolderFetcher fetcher) {
+        return Mono.defer(() -> {
+            String identity = JenkinsResponseCache.credentialIdentity(headers.getFirst(HttpHeaders.AUTHORIZATION));
+            Catalog catalog = catalogs.get(identity);
+            if (catalog == null) {
+                return sharedCrawl(identity, fetcher).map(crawled -> crawled.jobPaths);
+            }
+            if (System.currentTimeMillis() - catalog.crawledAt > ttlMillis && catalog.refreshing.compareAndSet(false, true)) {
+                crawlAndStore(identity, fetcher, true).subscribe(null, e -> {
+                    log.warn("Job catalog refresh failed, keeping the previous one: {}", e.getMessage());
+                    catalog.refreshing.set(false);
+                });
+            }
+            return Mono.just(catalog.jobPaths);
+        });
+    }
+
+    private Mono<Catalog> sharedCrawl(String identity, AsyncFolderFetcher fetcher) {
+        Mono<Catalog> created = crawlAndStore(identity, fetcher, false).cache();
+        Mono<Catalog> existing = asyncCrawls.putIfAbsent(identity, created);
+        if (existing != null) {
+            return existing;
+        }
+        return created.doFinally(signal -> asyncCrawls.remove(identity, created));
+    }
+
+    //a refresh only replaces a catalog still kept, an identity evicted meanwhile stays out
+    private Catalog crawlAndStore(String identity, HttpHeaders headers, boolean refresh) throws JsonProcessingException {
+        long start = System.currentTimeMillis();
+        String tree = crawlTree(levelsPerRequest);
+        List<String> jobPaths = new ArrayList<>();
+        boolean complete = crawl(folderPath -> jenkinsService.getJobTree(headers, folderPath, tree), levelsPerRequest,
+                crawlExecutor, crawlTimeoutMillis, jobPaths);
+        return store(identity, toCatalog(jobPaths, complete), refresh, start);
+    }
+
+    private Mono<Catalog> crawlAndStore(String identity, AsyncFolderFetcher fetcher, boolean refresh) {
+        return Mono.defer(() -> {
+            long start = System.currentTimeMillis();
+            return crawl(fetcher, levelsPerRequest, parallelism, crawlTimeoutMillis)
+                    .map(catalog -> store(identity, catalog, refresh, start));
+        });
+    }
+
+    private Catalog store(String identity, Catalog catalog, boolean refresh, long start) {
+        if (refresh) {
+            catalogs.replace(identity, catalog);
+        } else {
+            catalogs.put(identity, catalog);
+        }
+        log.info("Job catalog crawled: {} jobs in {} ms{}", catalog.jobPaths.size(), System.currentTimeMillis() - start,
+                catalog.crawledAt == 0 ? " (incomplete)" : "");
+        return catalog;
+    }
+
+    //an incomplete crawl is served but counts as expired, so the next call crawls again
+    private static Catalog toCatalog(List<String> jobPaths, boolean complete) {
+        return new Catalog(Collections.unmodifiableList(jobPaths), complete ? System.currentTimeMillis() : 0);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //jobs[name,jobs[name,...jobs[name,jobs]]]: names down to the given level, and at the last level
+    //a bare "jobs" that only tells folders (which have children) from jobs
+    static String crawlTree(int levels) {
+        return levels > 1 ? "jobs[name," + crawlTree(levels - 1) + "]" : "jobs[name,jobs]";
+    }
+
+    //crawls from the root and adds every job path to jobPaths, sorted; false when the deadline cut the crawl short.
+    //A folder that cannot be read is skipped, the root failing fails the crawl.
+    static boolean crawl(FolderFetcher fetcher, int levels, ExecutorService executor, long timeoutMillis, List<String> jobPaths) throws JsonProcessingException {
+        CompletionService<Slice> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Slice>> submitted = new ArrayList<>();
+        submitted.add(submit(completionService, fetcher, ""));
+        int outstanding = 1;
+        int folders = 0;
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        try {
+            while (outstanding > 0) {
+                Future<Slice> done = completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    log.warn("Job catalog crawl deadline reached, {} folders not read", outstanding);
+                    return false;
+                }
+                outstanding--;
+                Slice slice = done.get();
+                if (slice.error != null) {
+                    if (slice.folderPath.isEmpty()) {
+                        if (slice.error instanceof JsonProcessingException) {
+                            throw (JsonProcessingException) slice.error;
+                        }
+                        throw (RuntimeException) slice.error;
+                    }
+                    log.warn("Job catalog could not read folder {}: {}", slice.folderPath, slice.error.getMessage());
+                    continue;
+                }
+                List<String> subFolders = new ArrayList<>();
+                collect(slice.folderPath, slice.tree.path("jobs"), levels, jobPaths, subFolders);
+                for (String subFolder : subFolders) {
+                    submitted.add(submit(completionService, fetcher, subFolder));
+                    outstanding++;
+                }
+                folders += subFolders.size();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            for (Future<Slice> future : submitted) {
+                future.cancel(true);
+            }
+            Collections.sort(jobPaths);
+        }
+        log.debug("Job catalog crawl read {} folders below the root", folders);
+        return true;
+    }
+
+    //non-blocking crawl: the folders found in a slice are read up to parallelism at a time, with the same
+    //skipping of unreadable folders and the same deadline as the blocking one
+    static Mono<Catalog> crawl(AsyncFolderFetcher fetcher, int levels, int parallelism, long timeoutMillis) {
+        String tree = crawlTree(levels);
+        List<String> jobPaths = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean complete = new AtomicBoolean();
+        return fetcher.fetch("", tree)
+                .map(rootTree -> new Slice("", rootTree, null))
+                .expand(slice -> {
+                    List<String> subFolders = new ArrayList<>();
+                    collect(slice.folderPath, slice.tree.path("jobs"), levels, jobPaths, subFolders);
+                    return Flux.fromIterable(subFolders)
+                            .flatMap(subFolder -> fetcher.fetch(subFolder, tree)
+                                    .map(subTree -> new Slice(subFolder, subTree, null))
+                                    .onErrorResume(e -> {
+                                        log.warn("Job catalog could not read folder {}: {}", subFolder, e.getMessage());
+                                        return Mono.empty();
+                                    }), parallelism);
+                })
+                .doOnComplete(() -> complete.set(true))
+                .take(Duration.ofMillis(timeoutMillis))
+                .then(Mono.fromCallable(() -> {
+                    if (!complete.get()) {
+                        log.warn("Job catalog crawl deadline reached, some folders not read");
+                    }
+                    List<String> sorted;
+                    synchronized (jobPaths) {
+                        sorted = new ArrayList<>(jobPaths);
+                    }
+                    Collections.sort(sorted);
+                    return toCatalog(sorted, complete.get());
+                }));
+    }
+
+    private static Future<Slice> submit(CompletionService<Slice> completionService, FolderFetcher fetcher, String folderPath) {
+        return completionService.submit(() -> {
+            try {
+                return new Slice(folderPath, fetcher.fetch(folderPath), null);
+            } catch (JsonProcessingException | RuntimeException e) {
+                return new Slice(folderPath, null, e);
+            }
+        });
+    }
+
+    //an item with a "jobs" field is a folder (plain folder, multibranch project, organization folder), anything else a job
+    private static void collect(String folderPath, JsonNode jobsNode, int levels, List<String> jobPaths, List<String> subFolders) {
+        for (JsonNode jobNode : jobsNode) {
+            String path = folderPath.isEmpty() ? jobNode.path("name").asText() : folderPath + "/" + jobNode.path("name").asText();
+            JsonNode children = jobNode.get("jobs");
+            if (children == null) {
+                jobPaths.add(path);
+            } else if (levels > 1) {
+                collect(path, children, levels - 1, jobPaths, subFolders);
+            } else if (children.size() > 0) {
+                subFolders.add(path); // bottom of this slice, read it with its own request
+            }
+        }
+    }
+}
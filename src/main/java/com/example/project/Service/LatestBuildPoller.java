@@ -0,0 +1,122 @@
+package com.example.project.Service;
+import com.example.project.Model.JenkinsJobBuild;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+//One shared poller pushing build changes to every connected browser over Server-Sent Events.
+//Each interval costs a single tree= query for the last build of every job, however many sessions are listening,
+//and nothing at all while nobody is connected.
+@Service
+public class LatestBuildPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(LatestBuildPoller.class);
+
+    private final JenkinsService jenkinsService;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    //last build seen per job, compared against each poll to find the deltas
+    private Map<String, JenkinsJobBuild> lastBuilds = null;
+    private volatile JenkinsJobBuild latestJobBuild;
+
+    @Value("${jenkins.events.username:${jenkins.store.username:}}")
+    private String username;
+
+    @Value("${jenkins.events.token:${jenkins.store.token:}}")
+    private String token;
+
+    @Value("${jenkins.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMillis;
+
+    @Autowired
+    public LatestBuildPoller(JenkinsService jenkinsService) {
+        this.jenkinsService = jenkinsService;
+    }
+
+    //the poller runs with its own Jenkins account, without one the feed is off
+    public boolean isEnabled() {
+        return !username.isEmpty();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //register a browser, it gets the current latest build right away and every change after that
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+
+        JenkinsJobBuild current = latestJobBuild;
+        if (current != null) {
+            send(emitter, "latest", current);
+        }
+        return emitter;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    @Scheduled(fixedDelayString = "${jenkins.events.poll-interval-ms:5000}")
+    public void poll() {
+        if (!isEnabled() || emitters.isEmpty()) {
+            return;
+        }
+        HttpHeaders headers = jenkinsService.buildAuthHeaders(username, token);
+        Map<String, JenkinsJobBuild> polled;
+        try {
+            polled = jenkinsService.getLastBuilds(headers);
+        } catch (Exception e) {
+            log.warn("Latest build poll failed: {}", e.getMessage());
+            return;
+        }
+
+        // A new build number, or the same build changing state (finishing), is a delta
+        List<JenkinsJobBuild> changed = new ArrayList<>();
+        JenkinsJobBuild latest = null;
+        for (JenkinsJobBuild build : polled.values()) {
+            JenkinsJobBuild previous = lastBuilds == null ? null : lastBuilds.get(build.getJobName());
+            if (lastBuilds != null && (previous == null
+                    || previous.getBuildNumber() != build.getBuildNumber()
+                    || !Objects.equals(previous.getJobStatus(), build.getJobStatus())
+                    || previous.getDurationMillis() != build.getDurationMillis())) {
+                changed.add(build);
+            }
+            if (latest == null || build.getStartMillis() > latest.getStartMillis()) {
+                latest = build;
+            }
+        }
+        boolean firstPoll = lastBuilds == null;
+        lastBuilds = polled;
+        latestJobBuild = latest;
+
+        if (firstPoll && latest != null) {
+            broadcast("latest", latest);
+        }
+        for (JenkinsJobBuild build : changed) {
+            broadcast("build", build);
+        }
+    }
+
+    private void broadcast(String eventName, JenkinsJobBuild build) {
+        for (SseEmitter emitter : emitters) {
+            send(emitter, eventName, build);
+        }
+    }
+
+    private void send(SseEmitter emitter, String eventName, JenkinsJobBuild build) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(build));
+        } catch (IOException | IllegalStateException e) {
+            // The browser went away
+            emitters.remove(emitter);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.project.Service;
+import com.example.project.Model.JenkinsNode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//In-memory index of the Jenkins nodes: executor counts, busy/idle/offline state and the builtOn identifier
+//build records use for each display name (the built-in node is "" whatever its localized name).
+//Kept per credential; past the TTL the current index keeps being served while one background request refreshes it.
+//At most jenkins.nodes.max-identities indexes are kept, one nobody asked for within jenkins.nodes.idle-ms is dropped.
+//The reactive variant shares the same indexes, fetched without blocking through a request it passes in.
+@Service
+public class NodeCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(NodeCatalog.class);
+
+    @Value("${jenkins.nodes.ttl-ms:30000}")
+    private long ttlMillis;
+
+    @Value("${jenkins.nodes.max-identities:100}")
+    private int maxIdentities;
+
+    @Value("${jenkins.nodes.idle-ms:3600000}")
+    private long idleMillis;
+
+    private final JenkinsService jenkinsService;
+    private IdentityCache<Snapshot> snapshots;
+    private final SingleFlight singleFlight = new SingleFlight();
+    //first fetches of the reactive variant in flight, later callers subscribe to the first one's
+    private final Map<String, Mono<Snapshot>> asyncFetches = new ConcurrentHashMap<>();
+    private ExecutorService refreshExecutor;
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    static final class Snapshot {
+        final List<JenkinsNode> nodes;
+        final List<String> displayNames = new ArrayList<>();
+        final Map<String, String> builtOnByDisplayName = new HashMap<>();
+        final long fetchedAt;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Snapshot(List<JenkinsNode> nodes, long fetchedAt) {
+            this.nodes = Collections.unmodifiableList(nodes);
+            this.fetchedAt = fetchedAt;
+            for (JenkinsNode node : nodes) {
+                displayNames.add(node.getDisplayName());
+                builtOnByDisplayName.put(node.getDisplayName(), node.getBuiltOn());
+            }
+        }
+    }
+
+    @Autowired
+    public NodeCatalog(JenkinsService jenkinsService) {
+        this.jenkinsService = jenkinsService;
+    }
+
+    @PostConstruct
+    void startRefreshExecutor() {
+        this.snapshots = new IdentityCache<>(maxIdentities, idleMillis);
+        this.refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jenkins-nodes-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopRefreshExecutor() {
+        refreshExecutor.shutdownNow();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    public List<JenkinsNode> getNodes(HttpHeaders headers) throws JsonProcessingException {
+        return snapshot(headers).nodes;
+    }
+
+    //display names, in the order Jenkins lists the nodes
+    public List<String> getNodeNames(HttpHeaders headers) throws JsonProcessingException {
+        return Collections.unmodifiableList(snapshot(headers).displayNames);
+    }
+
+    //builtOn identifier of a node picked by display name; names the index does not know are taken as identifiers
+    public String toBuiltOn(HttpHeaders headers, String displayName) throws JsonProcessingException {
+        if (displayName == null) {
+            return null;
+        }
+        return snapshot(headers).builtOnByDisplayName.getOrDefault(displayName, displayName);
+    }
+
+    //same for the reactive variant, the nodes are fetched with the given request when the index is missing or expired
+    public Mono<List<String>> getNodeNames(HttpHeaders headers, Mono<List<JenkinsNode>> fetch) {
+        return snapshot(headers, fetch).map(snapshot -> Collections.unmodifiableList(snapshot.displayNames));
+    }
+
+    public Mono<String> toBuiltOn(HttpHeaders headers, String displayName, Mono<List<JenkinsNode>> fetch) {
+        if (displayName == null) {
+            return Mono.empty();
+        }
+        return snapshot(headers, fetch).map(snapshot -> snapshot.builtOnByDisplayName.getOrDefault(displayName, displayName));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    private Snapshot snapshot(HttpHeaders headers) throws JsonProcessingException {
+        String identity = JenkinsResponseCache.credentialIdentity(headers.getFirst(HttpHeaders.AUTHORIZATION));
+        Snapshot snapshot = snapshots.get(identity);
+        if (snapshot == null) {
+            return singleFlight.execute(identity, () -> fetchAndStore(identity, headers, false));
+        }
+        if (System.currentTimeMillis() - snapshot.fetchedAt > ttlMillis && snapshot.refreshing.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> {
+                try {
+                    fetchAndStore(identity, headers, true);
+                } catch (Exception e) {
+                    log.warn("Node catalog refresh failed, keeping the previous one: {}", e.getMessage());
+                    snapshot.refreshing.set(false);
+                }
+            });
+        }
+        return snapshot;
+    }
+
+    private Mono<Snapshot> snapshot(HttpHeaders headers, Mono<List<JenkinsNode>> fetch) {
+        return Mono.defer(() -> {
+            String identity = JenkinsResponseCache.credentialIdentity(headers.getFirst(HttpHeaders.AUTHORIZATION));
+            Snapshot snapshot = snapshots.get(identity);
+            if (snapshot == null) {
+                return sharedFetch(identity, fetch);
+            }
+            if (System.currentTimeMillis() - snapshot.fetchedAt > ttlMillis && snapshot.refreshing.compareAndSet(false, true)) {
+                fetch.map(nodes -> store(identity, new Snapshot(nodes, System.currentTimeMillis()), true))
+                        .subscribe(null, e -> {
+                            log.warn("Node catalog refresh failed, keeping the previous one: {}", e.getMessage());
+                            snapshot.refreshing.set(false);
+                        });
+            }
+            return Mono.just(snapshot);
+        });
+    }
+
+    private Mono<Snapshot> sharedFetch(String identity, Mono<List<JenkinsNode>> fetch) {
+        Mono<Snapshot> created = fetch.map(nodes -> store(identity, new Snapshot(nodes, System.currentTimeMillis()), false)).cache();
+        Mono<Snapshot> existing = asyncFetches.putIfAbsent(identity, created);
+        if (existing != null) {
+            return existing;
+        }
+        return created.doFinally(signal -> asyncFetches.remove(identity, created));
+    }
+
+    private Snapshot fetchAndStore(String identity, HttpHeaders headers, boolean refresh) throws JsonProcessingException {
+        return store(identity, new Snapshot(jenkinsService.getNodes(headers), System.currentTimeMillis()), refresh);
+    }
+
+    //a refresh only replaces an index still kept, an identity evicted meanwhile stays out
+    private Snapshot store(String identity, Snapshot snapshot, boolean refresh) {
+        if (refresh) {
+            snapshots.replace(identity, snapshot);
+        } else {
+            snapshots.put(identity, snapshot);
+        }
+        return snapshot;
+    }
+}
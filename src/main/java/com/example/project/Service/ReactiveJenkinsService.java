@@ -0,0 +1,554 @@
+package com.example.project.Service;
+import com.example.project.HttpClientConfig.JenkinsUnavailableException;
+import com.example.project.Model.BuildNodeIndex;
+import com.example.project.Model.JenkinsJobBuild;
+import com.example.project.Model.JenkinsNode;
+import com.example.project.Model.TimeRangeMatch;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+//Reactive variant of JenkinsService (profile "reactive"): the same Jenkins queries, caching and fallbacks,
+//composed as Mono/Flux over WebClient so no thread waits on Jenkins.
+//Per-job fan-outs run at most jenkins.fanout.parallelism requests at a time and only as fast as the caller consumes them.
+@Service
+@Profile("reactive")
+public class ReactiveJenkinsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveJenkinsService.class);
+
+    @Value("${jenkins.url}")
+    private String jenkinsUrl;
+
+    @Value("${jenkins.fanout.parallelism:16}")
+    private int fanOutParallelism;
+
+    @Value("${jenkins.fanout.timeout-ms:10000}")
+    private long fanOutTimeoutMillis;
+
+    @Value("${jenkins.latest-build.mode:tree}")
+    private String latestBuildMode;
+
+    @Value("${jenkins.builds.fetch-mode:range}")
+    private String buildsFetchMode;
+
+    @Value("${jenkins.builds.overlap-lookback-ms:86400000}")
+    private long overlapLookbackMillis;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final WebClient webClient;
+    private final BuildHistoryStore buildHistoryStore;
+    private final JenkinsResponseCache responseCache;
+    private final VerifiedCredentialCache verifiedCredentialCache;
+    private final JenkinsService jenkinsService;
+    private final JobCatalog jobCatalog;
+    private final NodeCatalog nodeCatalog;
+    private final MeterRegistry meterRegistry;
+    //identical requests in flight, later callers subscribe to the first one's result
+    private final Map<String, Mono<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReactiveJenkinsService(WebClient jenkinsWebClient, BuildHistoryStore buildHistoryStore, JenkinsResponseCache responseCache,
+                                  VerifiedCredentialCache verifiedCredentialCache, JenkinsService jenkinsService, JobCatalog jobCatalog,
+                                  NodeCatalog nodeCatalog, MeterRegistry meterRegistry) {
+        this.webClient = jenkinsWebClient;
+        this.buildHistoryStore = buildHistoryStore;
+        this.responseCache = responseCache;
+        this.verifiedCredentialCache = verifiedCredentialCache;
+        this.jenkinsService = jenkinsService;
+        this.jobCatalog = jobCatalog;
+        this.nodeCatalog = nodeCatalog;
+        this.meterRegistry = meterRegistry;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //the headers when Jenkins accepts the credentials, empty otherwise
+    public Mono<HttpHeaders> getAuthHeadersJenkins(String username, String password) {
+        HttpHeaders headers = buildAuthHeaders(username, password);
+
+        // Hashing the password for the credential cache is CPU work, kept off the event loop
+        return Mono.fromCallable(() -> verifiedCredentialCache.isVerified(username, password))
+                .subscribeOn(Schedulers.parallel())
+                .flatMap(verified -> {
+                    if (verified) {
+                        return Mono.just(headers);
+                    }
+                    UriComponents testUrl = UriComponentsBuilder
+                            .fromHttpUrl(jenkinsUrl)
+                            .path("api/json")
+                            .queryParam("tree", "mode")
+                            .build();
+                    return webClient.get()
+                            .uri(testUrl.toUri())
+                            .headers(requestHeaders -> requestHeaders.putAll(headers))
+                            .exchangeToMono(response -> {
+                                if (response.statusCode() == HttpStatus.UNAUTHORIZED) {
+                                    // Jenkins rejected this user: a verification still cached for it no longer counts
+                                    verifiedCredentialCache.forget(username);
+                                }
+                                return readBody(testUrl, response.statusCode(), response.bodyToMono(byte[].class).defaultIfEmpty(new byte[0]), response.releaseBody());
+                            })
+                            .publishOn(Schedulers.parallel())
+                            .map(body -> {
+                                verifiedCredentialCache.remember(username, password);
+                                return headers;
+                            });
+                })
+                .onErrorResume(e -> {
+                    log.warn("Authentication of {} against Jenkins failed: {}", username, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public HttpHeaders buildAuthHeaders(String username, String password) {
+        String plainCredentials = username + ":" + password;
+        String encodedCredentials = Base64.getEncoder().encodeToString(plainCredentials.getBytes(StandardCharsets.UTF_8));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Basic " + encodedCredentials);
+        return headers;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    public Mono<List<String>> getAllJobNames(HttpHeaders headers) {
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .path("api/json")
+                .queryParam("tree", "jobs[name]")
+                .build();
+
+        return fetchAndParse(url, headers, JenkinsResponseCache.ResourceType.JOBS, JenkinsResponseParser::parseJobNames);
+    }
+
+    //every job path from the shared job catalog, answered from memory once crawled; crawls go through this WebClient
+    public Mono<List<String>> getJobPaths(HttpHeaders headers) {
+        return jobCatalog.getJobPaths(headers, (folderPath, tree) -> getJobTree(headers, folderPath, tree));
+    }
+
+    private Mono<JsonNode> getJobTree(HttpHeaders headers, String folderPath, String tree) {
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .pathSegment(JenkinsService.jobSegments(folderPath, "api/json"))
+                .queryParam("tree", tree)
+                .build();
+
+        return fetchAndParse(url, headers, JenkinsResponseCache.ResourceType.JOBS, objectMapper::readTree);
+    }
+
+    //node names and builtOn identifiers come from the shared node catalog, fetched through this WebClient too
+    public Mono<List<String>> getNodesNames(HttpHeaders headers) {
+        return nodeCatalog.getNodeNames(headers, getNodes(headers));
+    }
+
+    //empty Optional when no node was picked (no filter), so it can be zipped with the other lookups
+    public Mono<Optional<String>> toBuiltOn(HttpHeaders headers, String displayName) {
+        return nodeCatalog.toBuiltOn(headers, displayName, getNodes(headers))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private Mono<List<JenkinsNode>> getNodes(HttpHeaders headers) {
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .path("computer/api/json")
+                .queryParam("tree", JenkinsService.NODES_TREE)
+                .build();
+
+        return fetchAndParse(url, headers, JenkinsResponseCache.ResourceType.NODES, JenkinsResponseParser::parseNodes);
+    }
+
+    public Mono<BuildNodeIndex> getBuildNodeIndex(HttpHeaders headers) {
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .path("api/json")
+                .queryParam("tree", "jobs[name,builds[number,builtOn]]")
+                .build();
+
+        return fetchAndParse(url, headers, JenkinsResponseCache.ResourceType.JOB_INFO, JenkinsResponseParser::parseBuildNodeIndex);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //latest build over all jobs, empty when no job was ever built
+    public Mono<JenkinsJobBuild> getLatestJobBuild(HttpHeaders headers) {
+        if (!"tree".equals(latestBuildMode)) {
+            return getLatestJobBuildPerJob(headers);
+        }
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .path("api/json")
+                .queryParam("tree", jenkinsService.getLastBuildsTree())
+                .build();
+
+        return fetchAndParse(url, headers, JenkinsResponseCache.ResourceType.LATEST_BUILDS, objectMapper::readTree)
+                .flatMapIterable(rootNode -> JenkinsService.toLastBuilds(rootNode).values())
+                .reduce(ReactiveJenkinsService::later)
+                .onErrorResume(e -> e instanceof RestClientException && !(e instanceof JenkinsUnavailableException), e -> {
+                    // Some controllers reject (or time out on) large tree queries: fall back to one request per job
+                    log.warn("Latest build tree query failed, falling back to per-job lookups: {}", e.getMessage());
+                    return getLatestJobBuildPerJob(headers);
+                });
+    }
+
+    //fallback: one lastBuild request per job, jobs still pending at the deadline are left out
+    private Mono<JenkinsJobBuild> getLatestJobBuildPerJob(HttpHeaders headers) {
+        return getJobPaths(headers).flatMap(jobNames -> {
+            AtomicInteger received = new AtomicInteger();
+            return Flux.fromIterable(jobNames)
+                    .flatMap(jobName -> fetchLastBuild(headers, jobName), fanOutParallelism)
+                    .doOnNext(jobBuild -> received.incrementAndGet())
+                    .take(Duration.ofMillis(fanOutTimeoutMillis))
+                    .doOnComplete(() -> {
+                        if (received.get() < jobNames.size()) {
+                            log.debug("Latest build fan-out ended with {} of {} jobs", received.get(), jobNames.size());
+                        }
+                    })
+                    .reduce(ReactiveJenkinsService::later);
+        });
+    }
+
+    private Mono<JenkinsJobBuild> fetchLastBuild(HttpHeaders headers, String jobName) {
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .pathSegment(JenkinsService.jobSegments(jobName, "lastBuild", "api/json"))
+                .build();
+
+        return fetch(url, headers)
+                .publishOn(Schedulers.parallel())
+                .map(body -> parse(body, objectMapper::readTree))
+                .map(rootNode -> JenkinsService.toLastBuild(jobName, rootNode))
+                .onErrorResume(e -> {
+                    // A job that failed or answered something unreadable is left out like one that timed out
+                    log.debug("Last build lookup of {} failed: {}", jobName, e.getMessage());
+                    meterRegistry.counter("jenkins.fanout.failures").increment();
+                    return Mono.empty();
+                });
+    }
+
+    private static JenkinsJobBuild later(JenkinsJobBuild a, JenkinsJobBuild b) {
+        return b.getStartMillis() > a.getStartMillis() ? b : a;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //builds of each job inside the window, one list per job in the order of jobNames.
+    //Up to jenkins.fanout.parallelism jobs are fetched at once, further jobs are only started as the caller takes results.
+    public Flux<List<JenkinsJobBuild>> getJobBuildsByTimeRange(HttpHeaders headers, LocalDateTime startTime, LocalDateTime endTime,
+                                                               List<String> jobNames, TimeRangeMatch match) {
+        return Flux.fromIterable(jobNames)
+                .flatMapSequential(jobName -> getJobBuildsByTimeRange(headers, startTime, endTime, jobName, match), fanOutParallelism);
+    }
+
+    public Mono<List<JenkinsJobBuild>> getJobBuildsByTimeRange(HttpHeaders headers, LocalDateTime startTime, LocalDateTime endTime,
+                                                               String jobName, TimeRangeMatch match) {
+        // Answer from the local build history once the background sync has covered this job (the store locks, so not on the event loop)
+        if (buildHistoryStore.isEnabled()) {
+            long to = endTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            return Mono.fromCallable(() -> buildHistoryStore.hasJob(jobName)
+                            ? Optional.of(buildHistoryStore.findByTimeRange(jobName, startTime, endTime, match))
+                            : Optional.<List<JenkinsJobBuild>>empty())
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMap(stored -> {
+                        if (stored.isEmpty()) {
+                            return fetchJobBuildsByTimeRange(headers, startTime, endTime, jobName, match);
+                        }
+                        List<JenkinsJobBuild> jobBuilds = countBuilds("store", stored.get());
+                        // Newer builds started after the newest stored one, none of them starts inside a window ending before it
+                        if (to <= buildHistoryStore.getHighestBuildStart(jobName)) {
+                            return Mono.just(jobBuilds);
+                        }
+                        long from = startTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                        return getBuildsAfter(headers, jobName, buildHistoryStore.getHighestBuildNumber(jobName), from, to, match)
+                                .map(tail -> {
+                                    jobBuilds.addAll(countBuilds("tail", tail));
+                                    return jobBuilds;
+                                });
+                    });
+        }
+        return fetchJobBuildsByTimeRange(headers, startTime, endTime, jobName, match);
+    }
+
+    //same as JenkinsService: builds in the window numbered above afterBuildNumber, oldest first, running ones included
+    private Mono<List<JenkinsJobBuild>> getBuildsAfter(HttpHeaders headers, String jobName, int afterBuildNumber, long from, long to, TimeRangeMatch match) {
+        UriComponents lastBuildUrl = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .pathSegment(JenkinsService.jobSegments(jobName, "api/json"))
+                .queryParam("tree", "lastBuild[number]")
+                .build();
+
+        return fetch(lastBuildUrl, headers)
+                .map(body -> parse(body, objectMapper::readTree).path("lastBuild").path("number").asInt(0))
+                .flatMap(lastBuildNumber -> {
+                    if (lastBuildNumber <= afterBuildNumber) {
+                        return Mono.just(new ArrayList<JenkinsJobBuild>());
+                    }
+                    UriComponents url = UriComponentsBuilder
+                            .fromHttpUrl(jenkinsUrl)
+                            .pathSegment(JenkinsService.jobSegments(jobName, "api/json"))
+                            .queryParam("tree", "displayName,allBuilds[number,timestamp,duration,result,builtOn,actions[queuingDurationMillis]]{0," + (lastBuildNumber - afterBuildNumber) + "}")
+                            .build();
+                    return fetchBuildsInWindow(url, headers, jobName, from, to, match)
+                            .map(jobBuilds -> {
+                                // Deleted builds leave gaps in the numbering, the slice may reach stored ones
+                                jobBuilds.removeIf(jobBuild -> jobBuild.getBuildNumber() <= afterBuildNumber);
+                                Collections.reverse(jobBuilds);
+                                return jobBuilds;
+                            });
+                });
+    }
+
+    private Mono<List<JenkinsJobBuild>> fetchJobBuildsByTimeRange(HttpHeaders headers, LocalDateTime startTime, LocalDateTime endTime,
+                                                                  String jobName, TimeRangeMatch match) {
+        long from = startTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long to = endTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .pathSegment(JenkinsService.jobSegments(jobName, "api/json"))
+                .queryParam("depth", "2")
+                .build();
+        Mono<List<JenkinsJobBuild>> depthFetch = fetchBuildsInWindow(url, headers, jobName, from, to, match)
+                .map(builds -> countBuilds("depth", builds));
+
+        if (!"range".equals(buildsFetchMode)) {
+            return depthFetch;
+        }
+        return getJobBuildsByIndexRange(headers, jobName, from, to, match)
+                .map(builds -> countBuilds("range", builds))
+                .onErrorResume(e -> e instanceof RestClientException && !(e instanceof JenkinsUnavailableException), e -> {
+                    log.warn("Range fetch failed for {}, falling back to depth=2: {}", jobName, e.getMessage());
+                    return depthFetch;
+                });
+    }
+
+    private List<JenkinsJobBuild> countBuilds(String source, List<JenkinsJobBuild> builds) {
+        DistributionSummary.builder("jenkins.builds.parsed")
+                .tags("source", source)
+                .register(meterRegistry)
+                .record(builds.size());
+        return builds;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //same galloping/binary search over allBuilds as JenkinsService, each probe chained on the previous one
+    private Mono<List<JenkinsJobBuild>> getJobBuildsByIndexRange(HttpHeaders headers, String jobName, long from, long to, TimeRangeMatch match) {
+        long oldestStart = match == TimeRangeMatch.OVERLAPPED ? from - overlapLookbackMillis : from;
+
+        Map<Integer, Long> probes = new ConcurrentHashMap<>();
+        return firstIndexStartedBefore(headers, jobName, to, 0, probes)
+                .flatMap(newestIndex -> firstIndexStartedBefore(headers, jobName, oldestStart + 1, newestIndex, probes)
+                        .flatMap(oldestIndex -> {
+                            if (newestIndex >= oldestIndex) {
+                                return Mono.just(new ArrayList<JenkinsJobBuild>());
+                            }
+                            UriComponents url = UriComponentsBuilder
+                                    .fromHttpUrl(jenkinsUrl)
+                                    .pathSegment(JenkinsService.jobSegments(jobName, "api/json"))
+                                    .queryParam("tree", "displayName,allBuilds[number,timestamp,duration,result,builtOn,actions[queuingDurationMillis]]{" + newestIndex + "," + oldestIndex + "}")
+                                    .build();
+                            return fetchBuildsInWindow(url, headers, jobName, from, to, match);
+                        }));
+    }
+
+    private Mono<Integer> firstIndexStartedBefore(HttpHeaders headers, String jobName, long limit, int startIndex, Map<Integer, Long> probes) {
+        return probeTimestamp(headers, jobName, startIndex, probes)
+                .flatMap(timestamp -> timestamp < limit
+                        ? Mono.just(startIndex)
+                        : gallop(headers, jobName, limit, startIndex, startIndex, 1, probes));
+    }
+
+    //probe startIndex+step, doubling the step until a build started before the limit (or the history ends)
+    private Mono<Integer> gallop(HttpHeaders headers, String jobName, long limit, int startIndex, int notBefore, int step, Map<Integer, Long> probes) {
+        int candidate = startIndex + step;
+        return probeTimestamp(headers, jobName, candidate, probes)
+                .flatMap(timestamp -> timestamp >= limit
+                        ? gallop(headers, jobName, limit, startIndex, candidate, step * 2, probes)
+                        : bisect(headers, jobName, limit, notBefore + 1, candidate, probes));
+    }
+
+    //binary search in [lo, hi]
+    private Mono<Integer> bisect(HttpHeaders headers, String jobName, long limit, int lo, int hi, Map<Integer, Long> probes) {
+        if (lo >= hi) {
+            return Mono.just(lo);
+        }
+        int mid = (lo + hi) >>> 1;
+        return probeTimestamp(headers, jobName, mid, probes)
+                .flatMap(timestamp -> timestamp < limit
+                        ? bisect(headers, jobName, limit, lo, mid, probes)
+                        : bisect(headers, jobName, limit, mid + 1, hi, probes));
+    }
+
+    private Mono<Long> probeTimestamp(HttpHeaders headers, String jobName, int index, Map<Integer, Long> probes) {
+        Long known = probes.get(index);
+        if (known != null) {
+            return Mono.just(known);
+        }
+        UriComponents url = UriComponentsBuilder
+                .fromHttpUrl(jenkinsUrl)
+                .pathSegment(JenkinsService.jobSegments(jobName, "api/json"))
+                .queryParam("tree", "allBuilds[timestamp]{" + index + "," + (index + 1) + "}")
+                .build();
+
+        return fetch(url, headers)
+                .map(body -> {
+                    JsonNode allBuilds = parse(body, objectMapper::readTree).path("allBuilds");
+                    long timestamp = allBuilds.size() == 0 ? Long.MIN_VALUE : allBuilds.get(0).path("timestamp").asLong();
+                    probes.put(index, timestamp);
+                    return timestamp;
+                });
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //GET through the shared response cache, with the same revalidation and stale fallback as the blocking service
+    private <T> Mono<T> fetchAndParse(UriComponents url, HttpHeaders headers, JenkinsResponseCache.ResourceType resourceType, ResponseParser<T> responseParser) {
+        if (!responseCache.isEnabled()) {
+            return fetch(url, headers).publishOn(Schedulers.parallel()).map(body -> parse(body, responseParser));
+        }
+        return Mono.defer(() -> {
+            String key = JenkinsResponseCache.key(url.toUriString(), headers);
+            JenkinsResponseCache.Entry cached = responseCache.get(key);
+            if (cached != null && cached.isFresh()) {
+                responseCache.recordHit();
+                return Mono.fromCallable(() -> responseParser.parse(new ByteArrayInputStream(cached.getBody())));
+            }
+            responseCache.recordMiss();
+            return shared(key, () -> fetchForCache(url, headers, key, cached, resourceType))
+                    .onErrorResume(e -> cached != null && (e instanceof JenkinsUnavailableException || e instanceof WebClientRequestException), e -> {
+                        // Jenkins is down or overloaded: an expired copy beats an error page
+                        log.warn("Jenkins unavailable, serving stale {}: {}", resourceType, e.getMessage());
+                        responseCache.recordStale();
+                        return Mono.just(cached.getBody());
+                    })
+                    .publishOn(Schedulers.parallel())
+                    .map(body -> parse(body, responseParser));
+        });
+    }
+
+    private Mono<byte[]> fetchForCache(UriComponents url, HttpHeaders headers, String key, JenkinsResponseCache.Entry cached, JenkinsResponseCache.ResourceType resourceType) {
+        return webClient.get()
+                .uri(url.toUri())
+                .headers(requestHeaders -> {
+                    requestHeaders.putAll(headers);
+                    if (cached != null) {
+                        cached.addConditionalHeaders(requestHeaders);
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (cached != null && response.statusCode() == HttpStatus.NOT_MODIFIED) {
+                        responseCache.revalidated(cached, resourceType);
+                        return response.releaseBody().thenReturn(cached.getBody());
+                    }
+                    return readBody(url, response.statusCode(), response.bodyToMono(byte[].class).defaultIfEmpty(new byte[0]), response.releaseBody())
+                            .doOnNext(body -> responseCache.put(key, resourceType, body, response.headers().asHttpHeaders().getETag(),
+                                    response.headers().asHttpHeaders().getFirst(HttpHeaders.LAST_MODIFIED)));
+                });
+    }
+
+    //single GET, the body is buffered whole (up to jenkins.reactive.max-in-memory-bytes) and parsed by the caller:
+    //only for the small projections (job names, probes, last builds), build lists go through fetchBuildsInWindow
+    private Mono<byte[]> fetch(UriComponents url, HttpHeaders headers) {
+        return webClient.get()
+                .uri(url.toUri())
+                .headers(requestHeaders -> requestHeaders.putAll(headers))
+                .exchangeToMono(response -> readBody(url, response.statusCode(), response.bodyToMono(byte[].class).defaultIfEmpty(new byte[0]), response.releaseBody()));
+    }
+
+    //GET of a build list (depth=2 document or allBuilds slice), parsed chunk by chunk as it arrives:
+    //only the builds inside the window are kept, whatever the size of the body
+    private Mono<List<JenkinsJobBuild>> fetchBuildsInWindow(UriComponents url, HttpHeaders headers, String jobName, long from, long to, TimeRangeMatch match) {
+        return webClient.get()
+                .uri(url.toUri())
+                .headers(requestHeaders -> requestHeaders.putAll(headers))
+                .exchangeToMono(response -> readBody(url, response.statusCode(),
+                        Mono.fromCallable(() -> new JenkinsResponseParser.BuildsInWindowFeeder(jobName, from, to, match))
+                                .flatMap(feeder -> response.bodyToFlux(DataBuffer.class)
+                                        .map(ReactiveJenkinsService::toBytes)
+                                        .publishOn(Schedulers.parallel())
+                                        .<Void>handle((chunk, sink) -> {
+                                            try {
+                                                feeder.feed(chunk);
+                                            } catch (IOException e) {
+                                                sink.error(e);
+                                            }
+                                        })
+                                        .then(Mono.fromCallable(feeder::finish))),
+                        response.releaseBody()));
+    }
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    //5xx and 429 mean Jenkins is struggling, any other non-200 is a plain failure
+    private static <T> Mono<T> readBody(UriComponents url, HttpStatusCode responseStatus, Mono<T> body, Mono<Void> release) {
+        if (responseStatus.is5xxServerError() || responseStatus.value() == 429) {
+            return release.then(Mono.error(new JenkinsUnavailableException("Request to " + url + " failed. Status code: " + responseStatus)));
+        }
+        if (responseStatus.value() != 200) {
+            return release.then(Mono.error(new RestClientException("Request to " + url + " failed. Status code: " + responseStatus)));
+        }
+        return body;
+    }
+
+    private Mono<byte[]> shared(String key, Supplier<Mono<byte[]>> fetch) {
+        return Mono.defer(() -> {
+            Mono<byte[]> created = fetch.get().cache();
+            Mono<byte[]> existing = inFlight.putIfAbsent(key, created);
+            if (existing != null) {
+                return existing;
+            }
+            return created.doFinally(signal -> inFlight.remove(key, created));
+        });
+    }
+
+    //parse errors are rethrown as they are (JsonProcessingException), the operator hands them to onError
+    private static <T> T parse(byte[] body, ResponseParser<T> responseParser) {
+        try {
+            return responseParser.parse(new ByteArrayInputStream(body));
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseParser<T> {
+        T parse(InputStream body) throws IOException;
+    }
+}
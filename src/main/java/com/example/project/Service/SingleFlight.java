@@ -0,0 +1,69 @@
+package com.example.project.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Request coalescing: while a call for a key is in flight, callers asking for the same key wait for it
+//and share its result (or its exception) instead of starting their own.
+//Keys must carry the credential identity so results are only shared between callers with the same rights.
+//Every caller gets the same result object, so results are read-only: a caller needing changes makes a copy.
+public class SingleFlight {
+
+    @FunctionalInterface
+    public interface Flight<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> T execute(String key, Flight<T, E> flight) throws E {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+
+        if (leader == null) {
+            try {
+                T result = flight.run();
+                mine.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } catch (Exception e) {
+                mine.completeExceptionally(e);
+                throw (E) e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+
+        coalesced.incrementAndGet();
+        try {
+            return (T) leader.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (E) cause;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight Jenkins request", e);
+        }
+    }
+
+    //number of calls answered by another caller's request
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.project.Service;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//Credentials Jenkins accepted recently, so repeated logins skip the verification round-trip.
+//Only a salted PBKDF2 hash of username:password is kept, never the password itself, and entries expire.
+@Service
+public class VerifiedCredentialCache {
+
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    @Value("${jenkins.auth.cache-ttl-ms:600000}")
+    private long ttlMillis;
+
+    @Value("${jenkins.auth.hash-iterations:10000}")
+    private int iterations;
+
+    @Value("${jenkins.auth.cache-max-entries:1000}")
+    private int maxEntries;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(byte[] salt, byte[] hash, long expiresAt) {
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    //true when these exact credentials were verified against Jenkins and have not expired
+    public boolean isVerified(String username, String password) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() >= entry.expiresAt()) {
+            entries.remove(username, entry);
+            return false;
+        }
+        return MessageDigest.isEqual(entry.hash(), hash(username, password, entry.salt()));
+    }
+
+    public void remember(String username, String password) {
+        if (entries.size() >= maxEntries) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> now >= entry.expiresAt());
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        byte[] salt = new byte[SALT_BYTES];
+        secureRandom.nextBytes(salt);
+        entries.put(username, new Entry(salt, hash(username, password, salt), System.currentTimeMillis() + ttlMillis));
+    }
+
+    public void forget(String username) {
+        entries.remove(username);
+    }
+
+    private byte[] hash(String username, String password, byte[] salt) {
+        char[] secret = (username + ":" + password).toCharArray();
+        PBEKeySpec spec = new PBEKeySpec(secret, salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2WithHmacSHA256 is not available", e);
+        } finally {
+            spec.clearPassword();
+            Arrays.fill(secret, '\0');
+        }
+    }
+}
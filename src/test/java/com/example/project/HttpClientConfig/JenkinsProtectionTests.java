@@ -0,0 +1,105 @@
+package com.example.project.HttpClientConfig;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JenkinsProtectionTests {
+
+    @Test
+    void opensOnFailureRateThenClosesAfterSuccessfulProbes() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, 50, 2);
+        breaker.onResult(false);
+        breaker.onResult(true);
+        breaker.onResult(false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState()); // below the minimum number of calls
+        breaker.onResult(true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+
+        Thread.sleep(60);
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire()); // only two probes while half open
+        breaker.onResult(false);
+        breaker.onResult(false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void failedProbeOpensAgain() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(4, 2, 0.5, 30, 1);
+        breaker.onResult(true);
+        breaker.onResult(true);
+        Thread.sleep(40);
+        assertTrue(breaker.tryAcquire());
+        breaker.onResult(true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void concurrencyLimitBacksOffAndGrowsBack() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 2, 16, 0.5, 1000);
+        assertTrue(limit.acquire(0));
+        limit.record(0, true);
+        limit.release();
+        assertEquals(4, limit.getLimit());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limit.acquire(0));
+        }
+        assertFalse(limit.acquire(10)); // full, no slot frees up
+        for (int i = 0; i < 4; i++) {
+            limit.record(1_000, false);
+            limit.release();
+        }
+        assertEquals(4, limit.getLimit()); // +1/limit per fast response while the limit is in use
+
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(limit.acquire(0));
+            }
+            for (int i = 0; i < 4; i++) {
+                limit.record(1_000, false);
+                limit.release();
+            }
+        }
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    void slowBodyHoldsTheSlotButIsNotASlowCall() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 1, 0.5, 20);
+        CircuitBreaker breaker = new CircuitBreaker(2, 1, 0.5, 60_000, 1);
+        JenkinsProtectionInterceptor interceptor = new JenkinsProtectionInterceptor(limit, breaker, 10, 20, new SimpleMeterRegistry());
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://jenkins/api/json"));
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0],
+                (req, body) -> new MockClientHttpResponse("{}".getBytes(), HttpStatus.OK));
+        assertEquals(1, limit.getInFlight());
+        assertThrows(JenkinsUnavailableException.class, () -> interceptor.intercept(request, new byte[0],
+                (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK)));
+
+        Thread.sleep(40); // the caller reading the body slowly
+        response.close();
+        assertEquals(0, limit.getInFlight());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onResult(true);
+        assertThrows(JenkinsUnavailableException.class, () -> interceptor.intercept(request, new byte[0],
+                (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK)));
+        assertEquals(0, limit.getInFlight()); // rejected by the breaker without taking a slot
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.project.LoadTest;
+
+import com.example.project.Service.BuildHistoryStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//Time ranges answered from the synced build history still show the builds the store does not hold yet
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BuildHistoryStoreEndToEndTests {
+
+    private static final FakeJenkins JENKINS = startJenkins();
+
+    @TempDir
+    static Path storeDir;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private BuildHistoryStore buildHistoryStore;
+
+    private static FakeJenkins startJenkins() {
+        try {
+            return new FakeJenkins(2, 150, 0, "tester", "token").withRunningBuild("job-0000").start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void jenkinsUrl(DynamicPropertyRegistry registry) {
+        registry.add("jenkins.url", JENKINS::getUrl);
+        registry.add("jenkins.store.enabled", () -> "true");
+        registry.add("jenkins.store.path", () -> storeDir.resolve("build-history.seg").toString());
+        registry.add("jenkins.store.username", () -> "tester");
+        registry.add("jenkins.store.token", () -> "token");
+    }
+
+    @AfterAll
+    static void stopJenkins() {
+        JENKINS.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void runningBuildIsReadLiveNextToStoredOnes() throws InterruptedException {
+        for (int i = 0; i < 100 && buildHistoryStore.getHighestBuildNumber("job-0001") < 150; i++) {
+            Thread.sleep(100);
+        }
+        // The sync stops at the running build (#151, on Paris like #150)
+        assertEquals(150, buildHistoryStore.getHighestBuildNumber("job-0000"));
+        assertEquals(150, buildHistoryStore.getHighestBuildNumber("job-0001"));
+
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity("/api/authenticate", Map.of("username", "tester", "password", "token"), String.class).getStatusCode());
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+        LocalDateTime now = LocalDateTime.now();
+        List<Map<String, String>> rows = restTemplate.postForObject("/api/job-builds-by-time-range-picker",
+                Map.of("startTime", now.minusHours(1).format(formatter), "endTime", now.plusHours(1).format(formatter), "selectedNode", "Paris"), List.class);
+
+        List<String> builds = rows.stream().map(row -> row.get("jobname") + "#" + row.get("buildnumber")).toList();
+        assertTrue(builds.contains("job-0000#151"), builds.toString());
+        assertTrue(builds.contains("job-0000#150"), builds.toString());
+        assertEquals(builds.size(), builds.stream().distinct().count(), builds.toString());
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.project.LoadTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//Embedded stand-in for our Jenkins, on the JDK HttpServer: serves the api/json documents the app reads
+//(root with tree= projections, job/<name>/api/json with depth=2 or builds/allBuilds ranges, lastBuild, computer)
+//and the console logs (logText/progressiveText from a start offset)
+//from synthetic jobs and builds. Job count, build count and per-request latency are configurable.
+//Only Basic credentials matching the configured user/password are accepted, anything else gets a 401.
+public class FakeJenkins implements AutoCloseable {
+
+    public static final String[] NODES = {"maître", "Madrid", "Paris", "Berlin"};
+    public static final long BUILD_SPACING = 600_000; // one build of each job every 10 minutes
+    //console log of every build: this many lines, every 100th an ERROR line
+    public static final int CONSOLE_LINES = 2000;
+
+    //Jenkins only lists the most recent builds under "builds", the full history is under "allBuilds"
+    private static final int BUILDS_LIMIT = 100;
+    private static final String[] RESULTS = {"SUCCESS", "SUCCESS", "SUCCESS", "FAILURE", "UNSTABLE", "ABORTED"};
+    private static final Pattern RANGE = Pattern.compile("\\{(\\d*)(,?)(\\d*)}");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> jobNames = new ArrayList<>();
+    private final Map<String, List<Map<String, Object>>> buildsByJob = new HashMap<>(); // newest first
+    private final long latencyMillis;
+    private final String authorization;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong notModifiedCount = new AtomicLong();
+    private final long origin;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public FakeJenkins(int jobs, int buildsPerJob, long latencyMillis, String username, String password) {
+        this.latencyMillis = latencyMillis;
+        this.authorization = "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        // The newest build of every job started a few minutes ago
+        this.origin = System.currentTimeMillis() - buildsPerJob * BUILD_SPACING;
+
+        Random random = new Random(42);
+        for (int j = 0; j < jobs; j++) {
+            String jobName = String.format("job-%04d", j);
+            jobNames.add(jobName);
+            List<Map<String, Object>> builds = new ArrayList<>(buildsPerJob);
+            for (int number = buildsPerJob; number >= 1; number--) {
+                Map<String, Object> build = new LinkedHashMap<>();
+                build.put("_class", "hudson.model.FreeStyleBuild");
+                build.put("actions", List.of(
+                        Map.of("_class", "hudson.model.CauseAction", "causes", List.of(Map.of("shortDescription", "Started by timer"))),
+                        Map.of("_class", "jenkins.metrics.impl.TimeInQueueAction", "queuingDurationMillis", random.nextInt(20_000))));
+                build.put("building", false);
+                String node = NODES[(j + number) % NODES.length];
+                build.put("builtOn", node.equals("maître") ? "" : node);
+                build.put("duration", 10_000 + random.nextInt(1_200_000));
+                build.put("fullDisplayName", jobName + " #" + number);
+                build.put("number", number);
+                build.put("result", RESULTS[random.nextInt(RESULTS.length)]);
+                build.put("timestamp", origin + (number - 1) * BUILD_SPACING + random.nextInt(60_000));
+                builds.add(build);
+            }
+            buildsByJob.put(jobName, builds);
+        }
+    }
+
+    //a build of the job started a minute ago and still running, numbered after the others (call before start)
+    public FakeJenkins withRunningBuild(String jobName) {
+        List<Map<String, Object>> builds = buildsByJob.get(jobName);
+        Map<String, Object> build = new LinkedHashMap<>(builds.get(0));
+        int number = (Integer) build.get("number") + 1;
+        build.put("building", true);
+        build.put("duration", 0);
+        build.put("fullDisplayName", jobName + " #" + number);
+        build.put("number", number);
+        build.put("result", null);
+        build.put("timestamp", System.currentTimeMillis() - 60_000);
+        builds.add(0, build);
+        return this;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    public FakeJenkins start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newFixedThreadPool(64);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    //base URL with the trailing slash, as jenkins.url expects
+    public String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    //requests answered 304 Not Modified
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    public long getOrigin() {
+        return origin;
+    }
+
+    public List<String> getJobNames() {
+        return jobNames;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestCount.incrementAndGet();
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            if (!authorization.equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                send(exchange, 401, Map.of("message", "Invalid password/token for user"));
+                return;
+            }
+            if (exchange.getRequestURI().getRawPath().endsWith("/logText/progressiveText")) {
+                sendConsole(exchange, exchange.getRequestURI().getRawPath().split("/"), query(exchange.getRequestURI().getRawQuery()));
+                return;
+            }
+            Object body = route(exchange.getRequestURI().getRawPath(), query(exchange.getRequestURI().getRawQuery()));
+            if (body == null) {
+                send(exchange, 404, Map.of("message", "Not found"));
+            } else {
+                send(exchange, 200, body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Object route(String path, Map<String, String> query) {
+        String tree = query.getOrDefault("tree", "");
+        if (path.equals("/api/json")) {
+            return root(tree);
+        }
+        if (path.equals("/computer/api/json")) {
+            return computers();
+        }
+        String[] segments = path.split("/");
+        // /job/<name>/api/json and /job/<name>/lastBuild/api/json
+        if (segments.length >= 5 && segments[1].equals("job")) {
+            String jobName = URLDecoder.decode(segments[2], StandardCharsets.UTF_8);
+            List<Map<String, Object>> builds = buildsByJob.get(jobName);
+            if (builds == null) {
+                return null;
+            }
+            if (segments.length == 6 && segments[3].equals("lastBuild")) {
+                return builds.isEmpty() ? null : builds.get(0);
+            }
+            if (segments.length == 5) {
+                return job(jobName, builds, tree);
+            }
+        }
+        return null;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    private Object root(String tree) {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("_class", "hudson.model.Hudson");
+        root.put("mode", "NORMAL");
+        if (tree.equals("mode")) {
+            return root;
+        }
+        List<Map<String, Object>> jobs = new ArrayList<>();
+        for (String jobName : jobNames) {
+            List<Map<String, Object>> builds = buildsByJob.get(jobName);
+            Map<String, Object> job = new LinkedHashMap<>();
+            job.put("_class", "hudson.model.FreeStyleProject");
+            job.put("name", jobName);
+            if (tree.contains("lastBuild")) {
+                job.put("lastBuild", builds.isEmpty() ? null : builds.get(0));
+            } else if (tree.contains("builds")) {
+                List<Map<String, Object>> numbersAndNodes = new ArrayList<>();
+                for (Map<String, Object> build : builds.subList(0, Math.min(BUILDS_LIMIT, builds.size()))) {
+                    numbersAndNodes.add(Map.of("number", build.get("number"), "builtOn", build.get("builtOn")));
+                }
+                job.put("builds", numbersAndNodes);
+            } else if (tree.isEmpty()) {
+                job.put("url", "http://localhost/job/" + jobName + "/");
+                job.put("color", "blue");
+            }
+            jobs.add(job);
+        }
+        root.put("jobs", jobs);
+        return root;
+    }
+
+    private Object computers() {
+        List<Map<String, Object>> computers = new ArrayList<>();
+        for (String node : NODES) {
+            String computerClass = node.equals("maître") ? "hudson.model.Hudson$MasterComputer" : "hudson.slaves.SlaveComputer";
+            computers.add(Map.of("_class", computerClass, "displayName", node, "numExecutors", 2,
+                    "executors", List.of(Map.of("idle", true), Map.of("idle", true)), "idle", true, "offline", false));
+        }
+        return Map.of("_class", "hudson.model.ComputerSet", "busyExecutors", 0, "computer", computers, "totalExecutors", 2 * NODES.length);
+    }
+
+    //tree=allBuilds[...]{M,N} or builds[...]{M,N}, or the plain depth=2 document
+    private Object job(String jobName, List<Map<String, Object>> builds, String tree) {
+        Map<String, Object> job = new LinkedHashMap<>();
+        job.put("_class", "hudson.model.FreeStyleProject");
+        job.put("displayName", jobName);
+        boolean all = tree.contains("allBuilds");
+        List<Map<String, Object>> listed = all ? builds : builds.subList(0, Math.min(BUILDS_LIMIT, builds.size()));
+
+        Matcher range = RANGE.matcher(tree);
+        if (range.find()) {
+            int from = range.group(1).isEmpty() ? 0 : Integer.parseInt(range.group(1));
+            int to;
+            if (range.group(2).isEmpty()) {
+                to = from + 1; // {M} is the single element M
+            } else {
+                to = range.group(3).isEmpty() ? listed.size() : Integer.parseInt(range.group(3));
+            }
+            from = Math.min(from, listed.size());
+            to = Math.max(from, Math.min(to, listed.size()));
+            listed = listed.subList(from, to);
+        }
+        job.put(all ? "allBuilds" : "builds", listed);
+        job.put("lastBuild", builds.isEmpty() ? null : Map.of("number", builds.get(0).get("number")));
+        return job;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    public static String consoleLog(String jobName, int number) {
+        StringBuilder log = new StringBuilder();
+        for (int line = 1; line <= CONSOLE_LINES; line++) {
+            log.append(line % 100 == 0 ? "ERROR: " : "").append(jobName).append(" #").append(number).append(" step ").append(line).append('\n');
+        }
+        return log.toString();
+    }
+
+    // /job/<name>/<number>/logText/progressiveText?start=N: the log from byte N, X-Text-Size being its full length
+    private void sendConsole(HttpExchange exchange, String[] segments, Map<String, String> query) throws IOException {
+        String jobName = URLDecoder.decode(segments[2], StandardCharsets.UTF_8);
+        int number = Integer.parseInt(segments[3]);
+        if (!buildsByJob.containsKey(jobName) || number < 1 || number > buildsByJob.get(jobName).size()) {
+            send(exchange, 404, Map.of("message", "Not found"));
+            return;
+        }
+        byte[] log = consoleLog(jobName, number).getBytes(StandardCharsets.UTF_8);
+        int start = (int) Math.min(Long.parseLong(query.getOrDefault("start", "0")), log.length);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain;charset=UTF-8");
+        exchange.getResponseHeaders().set("X-Text-Size", String.valueOf(log.length));
+        exchange.sendResponseHeaders(200, start == log.length ? -1 : log.length - start);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(log, start, log.length - start);
+        }
+    }
+
+    //JSON answers carry an ETag of their content; a request naming it in If-None-Match gets 304 Not Modified instead
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        if (status == 200) {
+            String eTag = "\"" + Integer.toHexString(Arrays.hashCode(bytes)) + "\"";
+            exchange.getResponseHeaders().set("ETag", eTag);
+            if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModifiedCount.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
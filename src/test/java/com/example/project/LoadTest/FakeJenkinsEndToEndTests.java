@@ -0,0 +1,201 @@
+package com.example.project.LoadTest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//The whole request path (controller, service, HTTP client, parsers) against FakeJenkins
+// Metrics export is off in tests unless asked for, the Prometheus endpoint is checked below
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class FakeJenkinsEndToEndTests {
+
+    private static final FakeJenkins JENKINS = startJenkins();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private static FakeJenkins startJenkins() {
+        try {
+            return new FakeJenkins(5, 150, 0, "tester", "token").start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void jenkinsUrl(DynamicPropertyRegistry registry) {
+        registry.add("jenkins.url", JENKINS::getUrl);
+        // Job info expires right away, so every read after the first is a conditional request
+        registry.add("jenkins.cache.ttl-ms.job-info", () -> "0");
+    }
+
+    @AfterAll
+    static void stopJenkins() {
+        JENKINS.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void authenticateThenQueryTheTimeRange() {
+        assertEquals(HttpStatus.UNAUTHORIZED, restTemplate.postForEntity("/api/authenticate", Map.of("username", "tester", "password", "wrong"), String.class).getStatusCode());
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity("/api/authenticate", Map.of("username", "tester", "password", "token"), String.class).getStatusCode());
+
+        assertEquals(List.of(FakeJenkins.NODES), restTemplate.getForObject("/api/nodeNames", List.class));
+
+        // Two hours in the middle of the history: 12 builds of each job started in it, a quarter of them on Madrid
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+        LocalDateTime start = LocalDateTime.ofInstant(Instant.ofEpochMilli(JENKINS.getOrigin()), ZoneId.systemDefault()).plusHours(12);
+        ResponseEntity<List> response = restTemplate.postForEntity("/api/job-builds-by-time-range-picker",
+                Map.of("startTime", start.format(formatter), "endTime", start.plusHours(2).format(formatter), "selectedNode", "Madrid"), List.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<Map<String, String>> rows = response.getBody();
+        assertFalse(rows.isEmpty());
+        assertTrue(rows.size() <= 5 * 12 / 4 + 5, "rows: " + rows.size());
+        for (Map<String, String> row : rows) {
+            LocalDateTime date = LocalDateTime.parse(row.get("date"));
+            assertTrue(!date.isBefore(start) && date.isBefore(start.plusHours(2).plusMinutes(1)), row.toString());
+        }
+
+        // Every Jenkins call above is measured per endpoint type
+        String metrics = restTemplate.getForObject("/actuator/prometheus", String.class);
+        assertTrue(metrics.contains("jenkins_client_requests_seconds_count{endpoint=\"computer\",status=\"200\""), metrics);
+        assertTrue(metrics.contains("jenkins_client_errors_total{endpoint=\"auth\",error=\"401\""), metrics);
+        assertTrue(metrics.contains("jenkins_builds_parsed_count{source=\"range\""), metrics);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void consoleLogFromAnOffsetAndSearch() {
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity("/api/authenticate", Map.of("username", "tester", "password", "token"), String.class).getStatusCode());
+        String log = FakeJenkins.consoleLog("job-0001", 7);
+        int start = log.indexOf("ERROR: job-0001 #7 step 1000\n");
+
+        ResponseEntity<String> tail = restTemplate.getForEntity("/api/console-log?job=job-0001&build=7&start=" + start, String.class);
+        assertEquals(HttpStatus.OK, tail.getStatusCode());
+        assertEquals(log.substring(start), tail.getBody());
+        assertEquals(String.valueOf(log.length()), tail.getHeaders().getFirst("X-Text-Size"));
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity("/api/console-log?job=job-0001&build=999", String.class).getStatusCode());
+
+        // Lines 1000, 1100, ... 2000 are errors; stopping after 3 resumes from the same offset, skipping them
+        Map<String, Object> search = restTemplate.getForObject("/api/console-log/search?job=job-0001&build=7&pattern=^ERROR&maxMatches=3&start=" + start, Map.class);
+        List<Map<String, Object>> matches = (List<Map<String, Object>>) search.get("matches");
+        assertEquals(3, matches.size());
+        assertEquals(start, ((Number) matches.get(0).get("offset")).intValue());
+        assertEquals("ERROR: job-0001 #7 step 1200", matches.get(2).get("line"));
+        assertEquals(true, search.get("truncated"));
+        assertEquals(start, ((Number) search.get("nextStart")).intValue());
+        assertEquals(3, search.get("nextSkip"));
+
+        Map<String, Object> rest = restTemplate.getForObject("/api/console-log/search?job=job-0001&build=7&pattern=^ERROR&start="
+                + search.get("nextStart") + "&skip=" + search.get("nextSkip"), Map.class);
+        List<Map<String, Object>> restMatches = (List<Map<String, Object>>) rest.get("matches");
+        assertEquals(8, restMatches.size());
+        assertEquals("ERROR: job-0001 #7 step 1300", restMatches.get(0).get("line"));
+        assertEquals(0, rest.get("nextSkip"));
+        assertEquals(log.length(), ((Number) rest.get("nextStart")).intValue());
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity("/api/console-log/search?job=job-0001&build=7&pattern=(", String.class).getStatusCode());
+        // A pattern that backtracks without end is stopped by the match budget
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity("/api/console-log/search?job=job-0001&build=7&pattern=(.*.*.*.*.*.*.*.*)!", String.class).getStatusCode());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void expiredCacheEntryIsRevalidatedWithItsETag() {
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity("/api/authenticate", Map.of("username", "tester", "password", "token"), String.class).getStatusCode());
+        long notModified = JENKINS.getNotModifiedCount();
+
+        List<Map<String, String>> first = restTemplate.getForObject("/api/get-job-info", List.class);
+        List<Map<String, String>> second = restTemplate.getForObject("/api/get-job-info", List.class);
+
+        assertFalse(first.isEmpty());
+        assertEquals(first, second);
+        assertTrue(JENKINS.getNotModifiedCount() > notModified, "no If-None-Match reached Jenkins");
+        Map<String, Object> statistics = restTemplate.getForObject("/api/cache-stats", Map.class);
+        assertTrue(((Number) statistics.get("revalidations")).longValue() > 0, statistics.toString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchAnswersEachQueryLikeTheSingleEndpoint() {
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity("/api/authenticate", Map.of("username", "tester", "password", "token"), String.class).getStatusCode());
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+        LocalDateTime start = LocalDateTime.ofInstant(Instant.ofEpochMilli(JENKINS.getOrigin()), ZoneId.systemDefault()).plusHours(12);
+        List<Map<String, String>> queries = List.of(
+                Map.of("startTime", start.format(formatter), "endTime", start.plusHours(2).format(formatter), "selectedNode", "Madrid"),
+                Map.of("startTime", start.plusHours(1).format(formatter), "endTime", start.plusHours(3).format(formatter), "selectedNode", "maître", "match", "overlap"),
+                Map.of("startTime", start.format(formatter), "endTime", start.plusHours(1).format(formatter), "jobPattern", "^job-0001$"));
+
+        List<List<Map<String, String>>> batch = restTemplate.postForObject("/api/job-builds-by-time-range-picker/batch", queries, List.class);
+
+        assertEquals(3, batch.size());
+        for (int i = 0; i < 2; i++) {
+            List<Map<String, String>> single = restTemplate.postForObject("/api/job-builds-by-time-range-picker", queries.get(i), List.class);
+            assertEquals(buildKeys(single), buildKeys(batch.get(i)), "query " + i);
+        }
+        assertEquals(6, batch.get(2).size());
+        assertTrue(batch.get(2).stream().allMatch(row -> row.get("jobname").equals("job-0001")));
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.postForEntity("/api/job-builds-by-time-range-picker/batch",
+                List.of(Map.of("startTime", "yesterday", "endTime", "today")), String.class).getStatusCode());
+        ResponseEntity<Map> badStream = restTemplate.postForEntity("/api/job-builds-by-time-range-picker/stream",
+                Map.of("startTime", "yesterday", "endTime", "today"), Map.class);
+        assertEquals(HttpStatus.BAD_REQUEST, badStream.getStatusCode());
+        assertTrue(badStream.getBody().containsKey("error"), String.valueOf(badStream.getBody()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void pagesFollowTheCursorAndRejectAMalformedOne() {
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity("/api/authenticate", Map.of("username", "tester", "password", "token"), String.class).getStatusCode());
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+        LocalDateTime start = LocalDateTime.ofInstant(Instant.ofEpochMilli(JENKINS.getOrigin()), ZoneId.systemDefault()).plusHours(12);
+        Map<String, String> query = new HashMap<>(Map.of("startTime", start.format(formatter), "endTime", start.plusHours(1).format(formatter), "pageSize", "4"));
+
+        Map<String, Object> first = restTemplate.postForObject("/api/job-builds-by-time-range-picker/page", query, Map.class);
+        assertEquals(4, ((List<?>) first.get("items")).size());
+        query.put("cursor", (String) first.get("nextCursor"));
+        Map<String, Object> second = restTemplate.postForObject("/api/job-builds-by-time-range-picker/page", query, Map.class);
+        assertEquals(4, ((List<?>) second.get("items")).size());
+        assertFalse(first.get("items").equals(second.get("items")));
+
+        Base64.Encoder encoder = Base64.getUrlEncoder();
+        for (String cursor : List.of("%%%", encoder.encodeToString("12".getBytes()), encoder.encodeToString("x\njob-0000".getBytes()),
+                encoder.encodeToString("-1\njob-0000".getBytes()), encoder.encodeToString("0\nno-such-job".getBytes()))) {
+            query.put("cursor", cursor);
+            assertEquals(HttpStatus.BAD_REQUEST, restTemplate.postForEntity("/api/job-builds-by-time-range-picker/page", query, String.class).getStatusCode(), cursor);
+        }
+    }
+
+    private static Set<String> buildKeys(List<Map<String, String>> rows) {
+        Set<String> keys = new HashSet<>();
+        for (Map<String, String> row : rows) {
+            keys.add(row.get("jobname") + "#" + row.get("buildnumber"));
+        }
+        return keys;
+    }
+}
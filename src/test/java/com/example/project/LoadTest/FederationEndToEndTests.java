@@ -0,0 +1,88 @@
+package com.example.project.LoadTest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//Three controllers behind /api/federated: two answer right away, the third is slower than the deadline
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class FederationEndToEndTests {
+
+    private static final FakeJenkins MAIN = startJenkins(0);
+    private static final FakeJenkins PARIS = startJenkins(0);
+    private static final FakeJenkins SLOW = startJenkins(5000);
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private static FakeJenkins startJenkins(long latencyMillis) {
+        try {
+            return new FakeJenkins(5, 150, latencyMillis, "tester", "token").start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void jenkinsUrls(DynamicPropertyRegistry registry) {
+        registry.add("jenkins.url", MAIN::getUrl);
+        registry.add("jenkins.federation.controllers", () -> "paris,slow");
+        registry.add("jenkins.federation.paris.url", PARIS::getUrl);
+        registry.add("jenkins.federation.paris.username", () -> "tester");
+        registry.add("jenkins.federation.paris.token", () -> "token");
+        registry.add("jenkins.federation.slow.url", SLOW::getUrl);
+        registry.add("jenkins.federation.slow.username", () -> "tester");
+        registry.add("jenkins.federation.slow.token", () -> "token");
+        registry.add("jenkins.federation.timeout-ms", () -> "3000");
+    }
+
+    @AfterAll
+    static void stopJenkins() {
+        MAIN.close();
+        PARIS.close();
+        SLOW.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void mergesControllersNewestFirstWithoutWaitingForTheSlowOne() {
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity("/api/authenticate", Map.of("username", "tester", "password", "token"), String.class).getStatusCode());
+
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+        LocalDateTime start = LocalDateTime.ofInstant(Instant.ofEpochMilli(MAIN.getOrigin()), ZoneId.systemDefault()).plusHours(12);
+        long begin = System.currentTimeMillis();
+        Map<String, Object> response = restTemplate.postForObject("/api/federated/job-builds-by-time-range-picker",
+                Map.of("startTime", start.format(formatter), "endTime", start.plusHours(2).format(formatter)), Map.class);
+
+        assertTrue(System.currentTimeMillis() - begin < 5000, "the slow controller held the response");
+        assertEquals(Map.of("main", "complete", "paris", "complete", "slow", "timeout"), response.get("controllers"));
+        List<Map<String, String>> rows = (List<Map<String, String>>) response.get("builds");
+        assertFalse(rows.isEmpty());
+        assertTrue(rows.stream().anyMatch(row -> row.get("controller").equals("main")));
+        assertTrue(rows.stream().anyMatch(row -> row.get("controller").equals("paris")));
+        for (int i = 1; i < rows.size(); i++) {
+            assertFalse(LocalDateTime.parse(rows.get(i).get("date")).isAfter(LocalDateTime.parse(rows.get(i - 1).get("date"))), rows.get(i).toString());
+        }
+
+        Map<String, Object> latest = restTemplate.getForObject("/api/federated/latest-builds?limit=3", Map.class);
+        assertEquals(3, ((List<?>) latest.get("builds")).size());
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.project.LoadTest;
+
+import com.example.project.Model.DurationHistogram;
+import com.example.project.ProjectApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+
+//End-to-end load test: the application on a random port, backed by FakeJenkins, hit concurrently on every /api endpoint.
+//Reports per-endpoint latency percentiles, error counts and throughput. Everything runs in-process, no network needed:
+//  mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.project.LoadTest.LoadTestDriver
+//  -Dload.jobs=200 -Dload.builds=500 -Dload.latency-ms=20 -Dload.threads=32 -Dload.duration-s=30
+//Any other -D is passed on to the application (e.g. -Djenkins.builds.fetch-mode=depth).
+//With -Dspring.profiles.active=reactive the /api/rx endpoints are hit as well, side by side with the blocking ones.
+public class LoadTestDriver {
+
+    private static final String USERNAME = "load";
+    private static final String PASSWORD = "load-token";
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    private static final class Endpoint {
+        final String name;
+        final Callable<Integer> call; // returns the HTTP status
+        final DurationHistogram latencyMicros = new DurationHistogram();
+        long errors;
+
+        Endpoint(String name, Callable<Integer> call) {
+            this.name = name;
+            this.call = call;
+        }
+
+        synchronized void record(long micros, boolean error) {
+            latencyMicros.record(micros);
+            if (error) {
+                errors++;
+            }
+        }
+    }
+
+    LoadTestDriver(String baseUrl, FakeJenkins jenkins, boolean reactive) {
+        this.baseUrl = baseUrl;
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+        // A one-hour window in the second half of the synthetic history
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime origin = LocalDateTime.ofInstant(Instant.ofEpochMilli(jenkins.getOrigin()), ZoneId.systemDefault());
+        LocalDateTime windowStart = origin.plus(Duration.between(origin, now).multipliedBy(3).dividedBy(4));
+        String window = "\"startTime\":\"" + windowStart.format(formatter) + "\",\"endTime\":\"" + windowStart.plusHours(1).format(formatter) + "\"";
+        String statsQuery = "?startTime=" + windowStart.format(formatter) + "&endTime=" + windowStart.plusHours(1).format(formatter);
+
+        add("GET /last-job-build-description", () -> get("/last-job-build-description"));
+        add("GET /last-job-build-events", () -> firstBytes("/last-job-build-events"));
+        add("GET /nodeNames", () -> get("/nodeNames"));
+        add("GET /get-job-info", () -> get("/get-job-info"));
+        add("GET /cache-stats", () -> get("/cache-stats"));
+        add("GET /stats/percentiles", () -> get("/stats/percentiles" + statsQuery));
+        add("POST /job-builds-by-time-range-picker", () -> post("/job-builds-by-time-range-picker", "{" + window + ",\"selectedNode\":\"Madrid\"}"));
+        add("POST /job-builds-by-time-range-picker (overlap)", () -> post("/job-builds-by-time-range-picker", "{" + window + ",\"selectedNode\":\"maître\",\"match\":\"overlap\"}"));
+        add("POST /job-builds-by-time-range-picker/stream", () -> post("/job-builds-by-time-range-picker/stream", "{" + window + ",\"selectedNode\":\"Paris\"}"));
+        add("POST /job-builds-by-time-range-picker/page", () -> post("/job-builds-by-time-range-picker/page", "{" + window + ",\"selectedNode\":\"Berlin\",\"pageSize\":\"50\"}"));
+        add("POST /SelectedNode", () -> post("/SelectedNode", "{\"selectedNode\":\"Madrid\"}"));
+        add("POST /authenticate", () -> post("/authenticate", "{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}"));
+        if (reactive) {
+            add("GET /rx/last-job-build-description", () -> get("/rx/last-job-build-description"));
+            add("GET /rx/nodeNames", () -> get("/rx/nodeNames"));
+            add("GET /rx/get-job-info", () -> get("/rx/get-job-info"));
+            add("POST /rx/job-builds-by-time-range-picker", () -> post("/rx/job-builds-by-time-range-picker", "{" + window + ",\"selectedNode\":\"Madrid\"}"));
+            add("POST /rx/job-builds-by-time-range-picker/stream", () -> post("/rx/job-builds-by-time-range-picker/stream", "{" + window + ",\"selectedNode\":\"Paris\"}"));
+        }
+    }
+
+    private void add(String name, Callable<Integer> call) {
+        endpoints.put(name, new Endpoint(name, call));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    public static void main(String[] args) throws Exception {
+        int jobs = Integer.getInteger("load.jobs", 100);
+        int builds = Integer.getInteger("load.builds", 300);
+        long latencyMillis = Long.getLong("load.latency-ms", 10);
+        int threads = Integer.getInteger("load.threads", 16);
+        int durationSeconds = Integer.getInteger("load.duration-s", 20);
+
+        try (FakeJenkins jenkins = new FakeJenkins(jobs, builds, latencyMillis, USERNAME, PASSWORD).start()) {
+            // The background sync and the event poller use the same fake account, the history goes to a scratch file
+            Path store = Files.createTempFile("build-history", ".seg");
+            Map<String, String> properties = new LinkedHashMap<>();
+            properties.put("jenkins.url", jenkins.getUrl());
+            properties.put("server.port", "0");
+            properties.put("jenkins.store.enabled", "true");
+            properties.put("jenkins.store.path", store.toString());
+            properties.put("jenkins.store.username", USERNAME);
+            properties.put("jenkins.store.token", PASSWORD);
+            // As command line arguments so they win over application.properties, unless set with -D
+            List<String> applicationArgs = new ArrayList<>(Arrays.asList(args));
+            properties.forEach((key, value) -> {
+                if (System.getProperty(key) == null) {
+                    applicationArgs.add("--" + key + "=" + value);
+                }
+            });
+            ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(ProjectApplication.class)
+                    .run(applicationArgs.toArray(new String[0]));
+            try {
+                String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+                boolean reactive = Arrays.asList(context.getEnvironment().getActiveProfiles()).contains("reactive");
+                LoadTestDriver driver = new LoadTestDriver("http://localhost:" + context.getWebServer().getPort() + contextPath + "/api", jenkins, reactive);
+                System.out.printf("%d jobs x %d builds, %d ms Jenkins latency, %d threads for %d s%n", jobs, builds, latencyMillis, threads, durationSeconds);
+                if (driver.post("/authenticate", "{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}") != 200) {
+                    throw new IllegalStateException("Authentication against the fake Jenkins failed");
+                }
+                if (reactive && driver.post("/rx/authenticate", "{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}") != 200) {
+                    throw new IllegalStateException("Authentication of the reactive API against the fake Jenkins failed");
+                }
+                long jenkinsRequestsBefore = jenkins.getRequestCount();
+                driver.run(threads, Duration.ofSeconds(durationSeconds));
+                System.out.printf("Jenkins requests: %d%n", jenkins.getRequestCount() - jenkinsRequestsBefore);
+            } finally {
+                context.close();
+                Files.deleteIfExists(store);
+            }
+        }
+    }
+
+    //every thread walks the endpoint list in its own order until the deadline
+    void run(int threads, Duration duration) throws InterruptedException {
+        List<Endpoint> all = new ArrayList<>(endpoints.values());
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            pool.execute(() -> {
+                for (int i = offset; System.nanoTime() < deadline; i++) {
+                    Endpoint endpoint = all.get(i % all.size());
+                    long start = System.nanoTime();
+                    boolean error;
+                    try {
+                        int status = endpoint.call.call();
+                        error = status >= 400;
+                    } catch (Exception e) {
+                        error = true;
+                    }
+                    endpoint.record((System.nanoTime() - start) / 1_000, error);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(duration.toSeconds() + 120, TimeUnit.SECONDS);
+        report(duration);
+    }
+
+    private void report(Duration duration) {
+        System.out.printf("%-50s %8s %7s %9s %9s %9s %9s %9s %8s%n", "endpoint", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "req/s");
+        DurationHistogram total = new DurationHistogram();
+        long totalErrors = 0;
+        for (Endpoint endpoint : endpoints.values()) {
+            print(endpoint.name, endpoint.latencyMicros, endpoint.errors, duration);
+            total.merge(endpoint.latencyMicros);
+            totalErrors += endpoint.errors;
+        }
+        print("all", total, totalErrors, duration);
+    }
+
+    private static void print(String name, DurationHistogram micros, long errors, Duration duration) {
+        System.out.printf("%-50s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %8.1f%n", name, micros.getTotalCount(), errors,
+                micros.getValueAtPercentile(50) / 1000.0, micros.getValueAtPercentile(90) / 1000.0,
+                micros.getValueAtPercentile(99) / 1000.0, micros.getValueAtPercentile(99.9) / 1000.0,
+                micros.getMax() / 1000.0, micros.getTotalCount() / (double) duration.toSeconds());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    int get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    int post(String path, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    //for the event stream: time to the response headers, then hang up
+    int firstBytes(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60)).GET().build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        response.body().close();
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.project.LoadTest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//The reactive variant (/api/rx) against FakeJenkins must answer like the blocking one
+@ActiveProfiles("reactive")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveEndToEndTests {
+
+    private static final FakeJenkins JENKINS = startJenkins();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private static FakeJenkins startJenkins() {
+        try {
+            return new FakeJenkins(5, 150, 0, "tester", "token").start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void jenkinsUrl(DynamicPropertyRegistry registry) {
+        registry.add("jenkins.url", JENKINS::getUrl);
+    }
+
+    @AfterAll
+    static void stopJenkins() {
+        JENKINS.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sameRowsAsTheBlockingEndpoint() {
+        assertEquals(HttpStatus.UNAUTHORIZED, restTemplate.postForEntity("/api/rx/authenticate", Map.of("username", "tester", "password", "wrong"), String.class).getStatusCode());
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity("/api/rx/authenticate", Map.of("username", "tester", "password", "token"), String.class).getStatusCode());
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity("/api/authenticate", Map.of("username", "tester", "password", "token"), String.class).getStatusCode());
+
+        assertEquals(List.of(FakeJenkins.NODES), restTemplate.getForObject("/api/rx/nodeNames", List.class));
+        Map<String, String> latest = restTemplate.getForObject("/api/rx/last-job-build-description", Map.class);
+        assertEquals(restTemplate.getForObject("/api/last-job-build-description", Map.class), latest);
+
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+        LocalDateTime start = LocalDateTime.ofInstant(Instant.ofEpochMilli(JENKINS.getOrigin()), ZoneId.systemDefault()).plusHours(12);
+        Map<String, String> query = Map.of("startTime", start.format(formatter), "endTime", start.plusHours(2).format(formatter), "selectedNode", "Madrid");
+
+        List<Map<String, String>> blocking = restTemplate.postForObject("/api/job-builds-by-time-range-picker", query, List.class);
+        ResponseEntity<List> reactive = restTemplate.postForEntity("/api/rx/job-builds-by-time-range-picker", query, List.class);
+        assertEquals(HttpStatus.OK, reactive.getStatusCode());
+        assertTrue(!blocking.isEmpty());
+        assertEquals(blocking, reactive.getBody());
+
+        // One row per line, in the same order
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String stream = restTemplate.postForObject("/api/rx/job-builds-by-time-range-picker/stream", new HttpEntity<>(query, headers), String.class);
+        assertEquals(blocking.size(), stream.trim().split("\n").length, stream);
+
+        // Without selectedNode the builds of every node are listed
+        Map<String, String> everyNode = Map.of("startTime", query.get("startTime"), "endTime", query.get("endTime"));
+        List<Map<String, String>> everyNodeRows = restTemplate.postForObject("/api/rx/job-builds-by-time-range-picker", everyNode, List.class);
+        assertEquals(restTemplate.postForObject("/api/job-builds-by-time-range-picker", everyNode, List.class), everyNodeRows);
+        assertTrue(everyNodeRows.size() > blocking.size());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.project.Model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DurationHistogramTests {
+
+    @Test
+    void percentilesStayWithinTheBinPrecision() {
+        Random random = new Random(7);
+        long[] values = new long[20_000];
+        DurationHistogram first = new DurationHistogram();
+        DurationHistogram second = new DurationHistogram();
+        for (int i = 0; i < values.length; i++) {
+            // Log-uniform between 10 ms and about 3 hours, like build durations
+            values[i] = (long) Math.pow(10, 1 + random.nextDouble() * 6);
+            (i % 2 == 0 ? first : second).record(values[i]);
+        }
+        first.merge(second);
+        Arrays.sort(values);
+
+        assertEquals(values.length, first.getTotalCount());
+        assertEquals(values[0], first.getMin());
+        assertEquals(values[values.length - 1], first.getMax());
+        for (double percentile : new double[]{50, 90, 95, 99}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long estimate = first.getValueAtPercentile(percentile);
+            assertTrue(Math.abs(estimate - exact) <= exact * 0.035, "p" + percentile + ": " + estimate + " vs " + exact);
+        }
+    }
+
+    @Test
+    void binsCoverEveryValueOnce() {
+        for (long value = 0; value < 100_000; value++) {
+            int bin = DurationHistogram.binOf(value);
+            assertTrue(DurationHistogram.lowestValueOf(bin) <= value && value <= DurationHistogram.highestValueOf(bin), "value " + value);
+        }
+    }
+}
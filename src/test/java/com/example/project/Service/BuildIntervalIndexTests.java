@@ -0,0 +1,87 @@
+package com.example.project.Service;
+
+import com.example.project.Model.JenkinsJobBuild;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BuildIntervalIndexTests {
+
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2023, 6, 1, 0, 0);
+
+    private static JenkinsJobBuild build(String jobName, int number, String builtOn, long startMinutes, long durationMinutes) {
+        JenkinsJobBuild jobBuild = new JenkinsJobBuild();
+        jobBuild.setJobName(jobName);
+        jobBuild.setBuildNumber(number);
+        jobBuild.setBuiltOn(builtOn);
+        jobBuild.setdateTime(ORIGIN.plusMinutes(startMinutes));
+        jobBuild.setjobDuration(String.valueOf(durationMinutes * 60_000));
+        jobBuild.setQueuingDuration("");
+        jobBuild.setTheEndTime(jobBuild.CalculateTheEndTime());
+        return jobBuild;
+    }
+
+    private static Set<Integer> numbers(List<JenkinsJobBuild> builds) {
+        return builds.stream().map(JenkinsJobBuild::getBuildNumber).collect(Collectors.toSet());
+    }
+
+    @Test
+    void startedAndOverlappedQueriesMatchALinearScan() {
+        Random random = new Random(42);
+        List<JenkinsJobBuild> builds = new ArrayList<>();
+        for (int i = 1; i <= 2000; i++) {
+            builds.add(build("job", i, random.nextBoolean() ? "Madrid" : "", random.nextInt(10_000), random.nextInt(300)));
+        }
+        BuildIntervalIndex index = new BuildIntervalIndex();
+        // Two batches, as the sync delivers them
+        index.addAll(builds.subList(0, 1200));
+        index.addAll(builds.subList(1200, builds.size()));
+
+        for (int q = 0; q < 200; q++) {
+            LocalDateTime from = ORIGIN.plusMinutes(random.nextInt(10_000));
+            LocalDateTime to = from.plusMinutes(random.nextInt(500));
+
+            Set<Integer> started = new HashSet<>();
+            Set<Integer> overlapped = new HashSet<>();
+            for (JenkinsJobBuild b : builds) {
+                if (b.getdateTime().isAfter(from) && b.getdateTime().isBefore(to)) {
+                    started.add(b.getBuildNumber());
+                }
+                if (b.getTheEndTime().isAfter(from) && b.getdateTime().isBefore(to)) {
+                    overlapped.add(b.getBuildNumber());
+                }
+            }
+
+            assertEquals(started, numbers(index.jobStartedIn("job", from, to)));
+            assertEquals(overlapped, numbers(index.jobOverlapping("job", from, to)));
+        }
+    }
+
+    @Test
+    void storedBuildsKeepEveryField() {
+        JenkinsJobBuild original = build("job", 7, "Madrid", 30, 12);
+        original.setJobStatus("FAILURE");
+        original.setQueuingDuration("1500");
+        BuildIntervalIndex index = new BuildIntervalIndex();
+        index.addAll(List.of(original));
+
+        JenkinsJobBuild stored = index.jobStartedIn("job", ORIGIN, ORIGIN.plusDays(1)).get(0);
+        assertEquals(original.getBuildNumber(), stored.getBuildNumber());
+        assertEquals(original.getdateTime(), stored.getdateTime());
+        assertEquals(original.getTheEndTime(), stored.getTheEndTime());
+        assertEquals(original.getExecutionDate(), stored.getExecutionDate());
+        assertEquals("FAILURE", stored.getJobStatus());
+        assertEquals("Madrid", stored.getBuiltOn());
+        assertEquals("1500", stored.getQueuingDuration());
+    }
+
+    @Test
+    void unknownJobGivesNoBuilds() {
+        BuildIntervalIndex index = new BuildIntervalIndex();
+        assertEquals(0, index.jobOverlapping("missing", ORIGIN, ORIGIN.plusDays(1)).size());
+    }
+}
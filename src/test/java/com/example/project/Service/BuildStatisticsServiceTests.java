@@ -0,0 +1,102 @@
+package com.example.project.Service;
+
+import com.example.project.Model.JenkinsJobBuild;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BuildStatisticsServiceTests {
+
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2023, 6, 1, 0, 0);
+
+    @TempDir
+    Path storeDirectory;
+
+    private BuildHistoryStore store;
+    private BuildStatisticsService statistics;
+
+    private static JenkinsJobBuild build(String jobName, int number, long startMinutes, String result, String builtOn) {
+        long start = ORIGIN.plusMinutes(startMinutes).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return JenkinsResponseParser.toJobBuild(jobName, number, start, 60_000, 1_000, result, builtOn);
+    }
+
+    //15-minute buckets: [0,15) holds deploy #1, #2 and test #1, [15,30) deploy #3, [30,45) test #2
+    @BeforeEach
+    void ingestThroughTheStore() throws IOException {
+        store = new BuildHistoryStore();
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "storePath", storeDirectory.resolve("history.seg").toString());
+        store.open();
+        store.append("deploy", List.of(build("deploy", 1, 0, "SUCCESS", "Madrid"), build("deploy", 2, 10, "FAILURE", "Madrid"),
+                build("deploy", 3, 20, "SUCCESS", "")));
+        store.append("test", List.of(build("test", 1, 5, "FAILURE", "Madrid")));
+
+        // What is stored is replayed on subscription, later appends arrive through the listener
+        statistics = new BuildStatisticsService(store);
+        ReflectionTestUtils.setField(statistics, "bucketMillis", 900_000L);
+        statistics.subscribe();
+        store.append("test", List.of(build("test", 2, 40, "SUCCESS", "Paris")));
+    }
+
+    @AfterEach
+    void closeStore() throws IOException {
+        store.close();
+    }
+
+    private long count(String jobName, String builtOn, long fromMinutes, long toMinutes) {
+        return (Long) statistics.getThroughput(jobName, builtOn, ORIGIN.plusMinutes(fromMinutes), ORIGIN.plusMinutes(toMinutes)).get("count");
+    }
+
+    @Test
+    void storedAndNewBuildsAreBothCounted() {
+        assertEquals(5L, count(null, null, 0, 60));
+        assertEquals(5L, statistics.getPercentiles(null, null, ORIGIN, ORIGIN.plusHours(1), new double[]{50}).get("count"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void windowsAreResolvedToWholeBuckets() {
+        // Both buckets the window touches are counted whole
+        assertEquals(4L, count(null, null, 12, 16));
+        // The end is exclusive: a window ending on a bucket start leaves that bucket out
+        assertEquals(3L, count(null, null, 0, 15));
+        assertEquals(1L, count(null, null, 15, 30));
+        assertEquals(0L, count(null, null, 45, 60));
+        assertEquals(List.of(3L, 1L, 1L), ((List<Map<String, Object>>) statistics.getThroughput(null, null, ORIGIN, ORIGIN.plusHours(1)).get("series"))
+                .stream().map(point -> point.get("count")).toList());
+    }
+
+    @Test
+    void everyBuildIsCountedUnderItsJobItsNodeAndBoth() {
+        assertEquals(3L, count("deploy", null, 0, 60));
+        assertEquals(3L, count(null, "Madrid", 0, 60));
+        assertEquals(2L, count("deploy", "Madrid", 0, 60));
+        // The built-in node is ""
+        assertEquals(1L, count(null, "", 0, 60));
+        assertEquals(1L, count("deploy", "", 0, 60));
+        assertEquals(0L, count("test", "", 0, 60));
+    }
+
+    @Test
+    void failureRateIsTheShareOfFailures() {
+        Map<String, Object> all = statistics.getFailureRate(null, null, ORIGIN, ORIGIN.plusHours(1));
+        assertEquals(2L, all.get("failures"));
+        assertEquals(0.4, (Double) all.get("failureRate"), 1e-9);
+        assertEquals(Map.of("FAILURE", 2L, "SUCCESS", 3L), all.get("results"));
+
+        assertEquals(0.5, (Double) statistics.getFailureRate("deploy", "Madrid", ORIGIN, ORIGIN.plusHours(1)).get("failureRate"), 1e-9);
+        assertEquals(0.0, (Double) statistics.getFailureRate("test", null, ORIGIN.plusMinutes(30), ORIGIN.plusHours(1)).get("failureRate"), 1e-9);
+        assertEquals(0.0, (Double) statistics.getFailureRate("nothing", null, ORIGIN, ORIGIN.plusHours(1)).get("failureRate"), 1e-9);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.project.Service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentityCacheTests {
+
+    @Test
+    void leastRecentlyUsedIdentityGoesPastTheCap() {
+        IdentityCache<String> cache = new IdentityCache<>(2, 60_000);
+        cache.put("alice", "a");
+        cache.put("bob", "b");
+        assertEquals("a", cache.get("alice"));
+        cache.put("carol", "c");
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("bob"));
+        assertEquals("a", cache.get("alice"));
+        assertEquals("c", cache.get("carol"));
+    }
+
+    @Test
+    void idleIdentitiesAreDroppedAndNotRefreshedBack() throws InterruptedException {
+        IdentityCache<String> cache = new IdentityCache<>(10, 50);
+        cache.put("alice", "a");
+        Thread.sleep(100);
+
+        assertNull(cache.get("alice"));
+        assertFalse(cache.replace("alice", "a2"));
+        assertEquals(0, cache.size());
+
+        cache.put("bob", "b");
+        assertTrue(cache.replace("bob", "b2"));
+        assertEquals("b2", cache.get("bob"));
+    }
+}
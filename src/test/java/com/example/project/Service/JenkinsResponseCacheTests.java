@@ -0,0 +1,133 @@
+package com.example.project.Service;
+
+import com.example.project.HttpClientConfig.JenkinsUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class JenkinsResponseCacheTests {
+
+    private static final String JOBS_URL = "http://jenkins/api/json?tree=jobs[name]";
+
+    private static JenkinsResponseCache cache(long maxBytes, long jobsTtlMillis, long nodesTtlMillis) {
+        JenkinsResponseCache cache = new JenkinsResponseCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxBytes", maxBytes);
+        ReflectionTestUtils.setField(cache, "jobsTtlMillis", jobsTtlMillis);
+        ReflectionTestUtils.setField(cache, "nodesTtlMillis", nodesTtlMillis);
+        return cache;
+    }
+
+    private static byte[] bytes(int length) {
+        return new byte[length];
+    }
+
+    @Test
+    void keyIsScopedToTheCredentialsWithoutHoldingThem() {
+        JenkinsService jenkinsService = new JenkinsService(new RestTemplate(), null, cache(1024, 0, 0), null, new SimpleMeterRegistry(), null);
+        HttpHeaders alice = jenkinsService.buildAuthHeaders("alice", "secret");
+        HttpHeaders bob = jenkinsService.buildAuthHeaders("bob", "secret");
+
+        String aliceKey = JenkinsResponseCache.key(JOBS_URL, alice);
+        assertEquals(aliceKey, JenkinsResponseCache.key(JOBS_URL, jenkinsService.buildAuthHeaders("alice", "secret")));
+        assertNotEquals(aliceKey, JenkinsResponseCache.key(JOBS_URL, bob));
+        assertNotEquals(aliceKey, JenkinsResponseCache.key(JOBS_URL, jenkinsService.buildAuthHeaders("alice", "other")));
+        assertFalse(aliceKey.contains(alice.getFirst(HttpHeaders.AUTHORIZATION).substring("Basic ".length())));
+        assertEquals("anonymous " + JOBS_URL, JenkinsResponseCache.key(JOBS_URL, new HttpHeaders()));
+    }
+
+    @Test
+    void eachResourceTypeExpiresAfterItsOwnTtl() {
+        JenkinsResponseCache cache = cache(1024, 60_000, 0);
+        cache.put("jobs", JenkinsResponseCache.ResourceType.JOBS, bytes(10), null, null);
+        cache.put("nodes", JenkinsResponseCache.ResourceType.NODES, bytes(10), null, null);
+
+        assertEquals(60_000, cache.ttlMillis(JenkinsResponseCache.ResourceType.JOBS));
+        assertTrue(cache.get("jobs").isFresh());
+        // Expired entries stay, to be revalidated or served stale
+        assertFalse(cache.get("nodes").isFresh());
+        assertNotNull(cache.get("nodes"));
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesGoPastTheByteBound() {
+        JenkinsResponseCache cache = cache(100, 60_000, 60_000);
+        cache.put("a", JenkinsResponseCache.ResourceType.JOBS, bytes(40), null, null);
+        cache.put("b", JenkinsResponseCache.ResourceType.JOBS, bytes(40), null, null);
+        assertNotNull(cache.get("a"));
+        cache.put("c", JenkinsResponseCache.ResourceType.JOBS, bytes(40), null, null);
+
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertEquals(80L, cache.getStatistics().get("bytes"));
+        assertEquals(1L, cache.getStatistics().get("evictions"));
+
+        // A body larger than the whole cache is not kept and evicts nothing
+        cache.put("huge", JenkinsResponseCache.ResourceType.JOBS, bytes(101), null, null);
+        assertNull(cache.get("huge"));
+        assertEquals(2, cache.getStatistics().get("entries"));
+    }
+
+    @Test
+    void expiredEntryIsRevalidatedWithItsValidators() throws Exception {
+        JenkinsResponseCache cache = cache(1024, 0, 0);
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer jenkins = MockRestServiceServer.bindTo(restTemplate).build();
+        JenkinsService jenkinsService = new JenkinsService(restTemplate, null, cache, null, new SimpleMeterRegistry(), null);
+        ReflectionTestUtils.setField(jenkinsService, "jenkinsUrl", "http://jenkins/");
+        HttpHeaders headers = jenkinsService.buildAuthHeaders("alice", "secret");
+
+        HttpHeaders validators = new HttpHeaders();
+        validators.setETag("\"v1\"");
+        validators.set(HttpHeaders.LAST_MODIFIED, "Wed, 01 Jan 2025 00:00:00 GMT");
+        jenkins.expect(requestTo(JOBS_URL))
+                .andRespond(withSuccess("{\"jobs\":[{\"name\":\"a\"}]}", MediaType.APPLICATION_JSON).headers(validators));
+        jenkins.expect(requestTo(JOBS_URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andExpect(header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 01 Jan 2025 00:00:00 GMT"))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        assertEquals(List.of("a"), jenkinsService.getAllJobNames(headers));
+        assertEquals(List.of("a"), jenkinsService.getAllJobNames(headers));
+
+        jenkins.verify();
+        assertEquals(1L, cache.getStatistics().get("revalidations"));
+    }
+
+    @Test
+    void staleCopyIsServedWhileJenkinsIsUnavailable() throws Exception {
+        JenkinsResponseCache cache = cache(1024, 0, 0);
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer jenkins = MockRestServiceServer.bindTo(restTemplate).build();
+        JenkinsService jenkinsService = new JenkinsService(restTemplate, null, cache, null, new SimpleMeterRegistry(), null);
+        ReflectionTestUtils.setField(jenkinsService, "jenkinsUrl", "http://jenkins/");
+        HttpHeaders headers = jenkinsService.buildAuthHeaders("alice", "secret");
+
+        jenkins.expect(requestTo(JOBS_URL))
+                .andRespond(withSuccess("{\"jobs\":[{\"name\":\"a\"}]}", MediaType.APPLICATION_JSON));
+        jenkins.expect(requestTo(JOBS_URL)).andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        jenkins.expect(requestTo(JOBS_URL)).andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        assertEquals(List.of("a"), jenkinsService.getAllJobNames(headers));
+        assertEquals(List.of("a"), jenkinsService.getAllJobNames(headers));
+        assertEquals(1L, cache.getStatistics().get("staleHits"));
+
+        // Nothing cached for these credentials: the failure reaches the caller
+        assertThrows(JenkinsUnavailableException.class, () -> jenkinsService.getAllJobNames(jenkinsService.buildAuthHeaders("bob", "secret")));
+        jenkins.verify();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.project.Service;
+
+import com.example.project.Model.BuildNodeIndex;
+import com.example.project.Model.JenkinsJobBuild;
+import com.example.project.Model.JenkinsNode;
+import com.example.project.Model.TimeRangeMatch;
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JenkinsResponseParserTests {
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    //trimmed job document as returned with depth=2
+    private static final String JOB_DOCUMENT = """
+            {"_class":"hudson.model.FreeStyleProject","actions":[{}],"displayName":"deploy",
+             "builds":[
+               {"_class":"hudson.model.FreeStyleBuild","actions":[{"_class":"hudson.model.CauseAction","causes":[{"shortDescription":"Started by user"}]},
+                                                                   {"_class":"jenkins.metrics.impl.TimeInQueueAction","queuingDurationMillis":1500}],
+                "builtOn":"Madrid","changeSet":{"items":[]},"duration":60000,"number":3,"result":"SUCCESS","timestamp":3000000},
+               {"actions":[{}],"builtOn":"","duration":1000,"number":2,"result":null,"timestamp":2000000},
+               {"actions":[],"duration":500000,"number":1,"result":"FAILURE","timestamp":1000000}
+             ],
+             "lastBuild":{"number":3}}
+            """;
+
+    @Test
+    void buildsOutsideTheWindowAreSkipped() throws Exception {
+        List<JenkinsJobBuild> builds = JenkinsResponseParser.parseBuildsInWindow(json(JOB_DOCUMENT), 1_500_000, 3_500_000, TimeRangeMatch.STARTED);
+
+        assertEquals(2, builds.size());
+        JenkinsJobBuild latest = builds.get(0);
+        assertEquals("deploy", latest.getJobName());
+        assertEquals(3, latest.getBuildNumber());
+        assertEquals("60000", latest.getjobDuration());
+        assertEquals("1500", latest.getQueuingDuration());
+        assertEquals("Madrid", latest.getBuiltOn());
+        assertEquals("SUCCESS", latest.getJobStatus());
+        assertEquals("", builds.get(1).getQueuingDuration());
+        assertEquals(builds.get(1).getdateTime(), builds.get(1).getExecutionDate()); // unknown queuing: the start date
+    }
+
+    @Test
+    void overlappingWindowKeepsBuildsStillRunning() throws Exception {
+        List<JenkinsJobBuild> builds = JenkinsResponseParser.parseBuildsInWindow(json(JOB_DOCUMENT), 1_400_000, 1_600_000, TimeRangeMatch.OVERLAPPED);
+
+        assertEquals(1, builds.size());
+        assertEquals(1, builds.get(0).getBuildNumber());
+    }
+
+    @Test
+    void chunkedBodyParsesLikeTheStream() throws Exception {
+        byte[] body = JOB_DOCUMENT.getBytes(StandardCharsets.UTF_8);
+        JenkinsResponseParser.BuildsInWindowFeeder feeder = new JenkinsResponseParser.BuildsInWindowFeeder("folder/deploy", 1_500_000, 3_500_000, TimeRangeMatch.STARTED);
+        for (int offset = 0; offset < body.length; offset += 7) {
+            feeder.feed(Arrays.copyOfRange(body, offset, Math.min(body.length, offset + 7)));
+        }
+        List<JenkinsJobBuild> builds = feeder.finish();
+
+        assertEquals(2, builds.size());
+        assertEquals("folder/deploy", builds.get(0).getJobName());
+        assertEquals(3, builds.get(0).getBuildNumber());
+        assertEquals("1500", builds.get(0).getQueuingDuration());
+        assertEquals("Madrid", builds.get(0).getBuiltOn());
+        assertEquals(2, builds.get(1).getBuildNumber());
+        assertEquals("null", builds.get(1).getJobStatus());
+
+        JenkinsResponseParser.BuildsInWindowFeeder truncated = new JenkinsResponseParser.BuildsInWindowFeeder(null, 0, Long.MAX_VALUE, TimeRangeMatch.STARTED);
+        truncated.feed(Arrays.copyOf(body, body.length / 2));
+        assertThrows(JsonParseException.class, truncated::finish);
+    }
+
+    @Test
+    void jobNamesAndBuildNodes() throws Exception {
+        assertEquals(List.of("a", "b"), JenkinsResponseParser.parseJobNames(json("{\"_class\":\"hudson.model.Hudson\",\"jobs\":[{\"_class\":\"x\",\"name\":\"a\"},{\"name\":\"b\"}]}")));
+
+        BuildNodeIndex index = JenkinsResponseParser.parseBuildNodeIndex(json("{\"jobs\":[{\"builds\":[{\"number\":2,\"builtOn\":\"Madrid\"},{\"number\":1}],\"name\":\"a\"}]}"));
+        assertEquals("Madrid", index.getBuiltOn("a", 2));
+        assertEquals(BuildNodeIndex.UNKNOWN_NODE, index.getBuiltOn("a", 1));
+    }
+
+    @Test
+    void nodesCarryExecutorStateAndBuiltOn() throws Exception {
+        List<JenkinsNode> nodes = JenkinsResponseParser.parseNodes(json("{\"computer\":["
+                + "{\"_class\":\"hudson.model.Hudson$MasterComputer\",\"displayName\":\"maître\",\"executors\":[{\"idle\":false},{\"idle\":true}],\"idle\":false,\"numExecutors\":2,\"offline\":false},"
+                + "{\"_class\":\"hudson.slaves.SlaveComputer\",\"displayName\":\"Madrid\",\"executors\":[],\"idle\":true,\"numExecutors\":1,\"offline\":true}]}"));
+
+        assertEquals(2, nodes.size());
+        assertEquals("", nodes.get(0).getBuiltOn());
+        assertEquals(2, nodes.get(0).getNumExecutors());
+        assertEquals(1, nodes.get(0).getBusyExecutors());
+        assertFalse(nodes.get(0).isIdle());
+        assertEquals("Madrid", nodes.get(1).getBuiltOn());
+        assertTrue(nodes.get(1).isOffline());
+    }
+}
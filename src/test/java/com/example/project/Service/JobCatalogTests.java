@@ -0,0 +1,87 @@
+package com.example.project.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobCatalogTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    //two levels per request: "team" is read with the root, "team/service" (a multibranch project) only has its
+    //children's classes in the root slice and gets its own request
+    private final Map<String, String> slices = Map.of(
+            "", """
+                    {"jobs":[
+                      {"name":"deploy"},
+                      {"name":"empty","jobs":[]},
+                      {"name":"team","jobs":[
+                        {"name":"nightly"},
+                        {"name":"service","jobs":[{"_class":"org.jenkinsci.plugins.workflow.job.WorkflowJob"}]}
+                      ]}
+                    ]}
+                    """,
+            "team/service", """
+                    {"jobs":[
+                      {"name":"main"},
+                      {"name":"feature-x"}
+                    ]}
+                    """);
+
+    @Test
+    void foldersBelowASliceAreCrawledWithTheirOwnRequest() throws Exception {
+        assertEquals("jobs[name,jobs[name,jobs]]", JobCatalog.crawlTree(2));
+
+        Map<String, Integer> requests = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<String> jobPaths = new ArrayList<>();
+            boolean complete = JobCatalog.crawl(folderPath -> {
+                requests.merge(folderPath, 1, Integer::sum);
+                return objectMapper.readTree(slices.get(folderPath));
+            }, 2, executor, 5000, jobPaths);
+
+            assertTrue(complete);
+            assertEquals(List.of("deploy", "team/nightly", "team/service/feature-x", "team/service/main"), jobPaths);
+            assertEquals(Map.of("", 1, "team/service", 1), requests);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void nonBlockingCrawlFindsTheSameJobsAndSkipsUnreadableFolders() {
+        Map<String, Integer> requests = new ConcurrentHashMap<>();
+        JobCatalog.Catalog catalog = JobCatalog.crawl((folderPath, tree) -> {
+            requests.merge(folderPath, 1, Integer::sum);
+            return Mono.fromCallable(() -> objectMapper.readTree(slices.get(folderPath)));
+        }, 2, 4, 5000).block();
+
+        assertTrue(catalog.crawledAt > 0);
+        assertEquals(List.of("deploy", "team/nightly", "team/service/feature-x", "team/service/main"), catalog.jobPaths);
+        assertEquals(Map.of("", 1, "team/service", 1), requests);
+
+        JobCatalog.Catalog partial = JobCatalog.crawl((folderPath, tree) -> folderPath.isEmpty()
+                ? Mono.fromCallable(() -> objectMapper.readTree(slices.get(folderPath)))
+                : Mono.error(new IllegalStateException("403")), 2, 4, 5000).block();
+        assertEquals(List.of("deploy", "team/nightly"), partial.jobPaths);
+    }
+
+    @Test
+    void jobPathsMapToNestedJobSegments() {
+        assertEquals(List.of("job", "team", "job", "service", "job", "main", "api/json"),
+                List.of(JenkinsService.jobSegments("team/service/main", "api/json")));
+        assertEquals(List.of("api/json"), List.of(JenkinsService.jobSegments("", "api/json")));
+        assertEquals("jobs[name,jobs[name]]", JenkinsService.nestedJobsTree("name", 2));
+    }
+}
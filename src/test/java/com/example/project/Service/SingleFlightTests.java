@@ -0,0 +1,54 @@
+package com.example.project.Service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTests {
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("user job/a", () -> {
+                    executions.incrementAndGet();
+                    release.await();
+                    return "body";
+                })));
+            }
+            // Let every caller reach the flight before the leader finishes
+            while (singleFlight.getCoalescedCount() < 7) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("body", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+            assertEquals(0, singleFlight.getInFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void checkedExceptionsReachTheCaller() {
+        SingleFlight singleFlight = new SingleFlight();
+        assertThrows(IOException.class, () -> singleFlight.execute("k", () -> {
+            throw new IOException("boom");
+        }));
+        // A failed flight is not remembered
+        assertDoesNotThrow(() -> singleFlight.execute("k", () -> "ok"));
+    }
+}
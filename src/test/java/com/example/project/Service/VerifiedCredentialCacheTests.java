@@ -0,0 +1,62 @@
+package com.example.project.Service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedCredentialCacheTests {
+
+    private static VerifiedCredentialCache cache(long ttlMillis, int maxEntries) {
+        VerifiedCredentialCache cache = new VerifiedCredentialCache();
+        ReflectionTestUtils.setField(cache, "ttlMillis", ttlMillis);
+        ReflectionTestUtils.setField(cache, "iterations", 1000);
+        ReflectionTestUtils.setField(cache, "maxEntries", maxEntries);
+        return cache;
+    }
+
+    @Test
+    void onlyTheRememberedPasswordIsVerified() {
+        VerifiedCredentialCache cache = cache(60_000, 10);
+        assertFalse(cache.isVerified("alice", "secret"));
+        cache.remember("alice", "secret");
+
+        assertTrue(cache.isVerified("alice", "secret"));
+        assertFalse(cache.isVerified("alice", "wrong"));
+        assertFalse(cache.isVerified("bob", "secret"));
+        // A wrong attempt leaves the verified entry in place
+        assertTrue(cache.isVerified("alice", "secret"));
+
+        cache.forget("alice");
+        assertFalse(cache.isVerified("alice", "secret"));
+    }
+
+    @Test
+    void entriesExpire() throws InterruptedException {
+        VerifiedCredentialCache cache = cache(50, 10);
+        cache.remember("alice", "secret");
+        Thread.sleep(100);
+
+        assertFalse(cache.isVerified("alice", "secret"));
+    }
+
+    @Test
+    void newUsersPastTheCapAreNotRememberedUntilEntriesExpire() throws InterruptedException {
+        VerifiedCredentialCache cache = cache(60_000, 2);
+        cache.remember("alice", "a");
+        cache.remember("bob", "b");
+        cache.remember("carol", "c");
+
+        assertTrue(cache.isVerified("alice", "a"));
+        assertTrue(cache.isVerified("bob", "b"));
+        assertFalse(cache.isVerified("carol", "c"));
+
+        VerifiedCredentialCache expiring = cache(50, 2);
+        expiring.remember("alice", "a");
+        expiring.remember("bob", "b");
+        Thread.sleep(100);
+        // Expired entries are dropped to make room
+        expiring.remember("carol", "c");
+        assertTrue(expiring.isVerified("carol", "c"));
+    }
+}